@@ -0,0 +1,34 @@
+package com.db.tradestore.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Keeps the JDBC data source available with the reactive profile.
+ *
+ * Spring Boot backs off from auto-configuring a DataSource once an R2DBC
+ * ConnectionFactory exists. The expiry scheduler, bulk import/export and
+ * {@link com.db.tradestore.repository.TradeRepository} still run on JDBC, so the
+ * data source is declared here from the regular spring.datasource properties.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataSourceConfiguration {
+
+    /**
+     * Creates the JDBC data source.
+     *
+     * @param properties The spring.datasource properties.
+     * @return The DataSource shared with the R2DBC connection factory's database.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+}
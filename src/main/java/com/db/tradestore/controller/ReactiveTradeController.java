@@ -0,0 +1,108 @@
+package com.db.tradestore.controller;
+
+import com.db.tradestore.exception.InvalidTradeException;
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.model.TradeIngestResult;
+import com.db.tradestore.service.ReactiveTradeService;
+import com.db.tradestore.service.TradeDedupCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The WebFlux variant of {@link TradeController}, active with the reactive profile.
+ */
+@RestController
+@Profile("reactive")
+public class ReactiveTradeController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTradeController.class);
+
+    @Autowired
+    ReactiveTradeService reactiveTradeService;
+
+    @Autowired
+    TradeDedupCache tradeDedupCache;
+
+    /**
+     * Validates and stores a trade in the system.
+     *
+     * Retries are answered from the {@link TradeDedupCache} as on the Spring MVC endpoint.
+     *
+     * @param trade          The Trade object to be validated and stored.
+     * @param idempotencyKey The optional Idempotency-Key header identifying retries of the same request.
+     * @return Mono emitting HttpStatus.OK (200) if the trade is stored; an InvalidTradeException error otherwise.
+     */
+    @PostMapping("/trade")
+    public Mono<ResponseEntity<String>> validateAndStoreTrade(@RequestBody Trade trade,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        log.debug("Received trade: {}", trade);
+
+        return tradeDedupCache.executeReactive(trade, idempotencyKey, () -> reactiveTradeService.validateAndPersist(trade))
+                .flatMap(accepted -> accepted
+                        ? Mono.just(ResponseEntity.status(HttpStatus.OK).<String>build())
+                        : Mono.error(new InvalidTradeException(trade.getTradeId() + " Trade ID is not found")));
+    }
+
+    /**
+     * Validates and stores a batch of trades sent as a JSON array.
+     *
+     * @param trades The trades to be validated and stored.
+     * @return Mono emitting TradeImportResult with the counts of the batch.
+     */
+    @PostMapping(value = "/trade/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<TradeImportResult> validateAndStoreTrades(@RequestBody Flux<Trade> trades) {
+        return reactiveTradeService.ingestAll(trades);
+    }
+
+    /**
+     * Validates and stores a stream of trades sent as newline-delimited JSON.
+     *
+     * Results are streamed back as the trades are processed; reading of the request
+     * body is paced by the store.
+     *
+     * @param trades The trades to be validated and stored.
+     * @return Flux emitting one TradeIngestResult per trade, in input order.
+     */
+    @PostMapping(value = "/trade/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TradeIngestResult> streamTrades(@RequestBody Flux<Trade> trades) {
+        return reactiveTradeService.ingest(trades);
+    }
+
+    /**
+     * Retrieves all trades, as a JSON array or as a newline-delimited JSON stream.
+     *
+     * @return Flux emitting all the trades in the system.
+     */
+    @GetMapping(value = "/trade", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Trade> findAllTrades() {
+        return reactiveTradeService.findAll();
+    }
+
+    /**
+     * Retrieves a trade by its trade ID.
+     *
+     * @param tradeId The trade ID to search for.
+     * @return Mono emitting the trade, or HttpStatus.NOT_FOUND (404) if it does not exist.
+     */
+    @GetMapping("/trade/{tradeId}")
+    public Mono<ResponseEntity<Trade>> findTrade(@PathVariable String tradeId) {
+        return reactiveTradeService.findTrade(tradeId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
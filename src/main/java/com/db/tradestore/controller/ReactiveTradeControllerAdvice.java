@@ -0,0 +1,38 @@
+package com.db.tradestore.controller;
+
+import com.db.tradestore.exception.IdempotencyKeyConflictException;
+import com.db.tradestore.exception.InvalidTradeException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.hateoas.mediatype.vnderrors.VndErrors;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Optional;
+
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveTradeControllerAdvice {
+    @ExceptionHandler(InvalidTradeException.class)
+    public ResponseEntity<VndErrors> notFoundException(final InvalidTradeException e) {
+        return error(e, HttpStatus.NOT_ACCEPTABLE, e.getId());
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<VndErrors> idempotencyKeyConflictException(final IdempotencyKeyConflictException e) {
+        return error(e, HttpStatus.UNPROCESSABLE_ENTITY, e.getId());
+    }
+
+    private ResponseEntity<VndErrors> error(
+            final Exception exception, final HttpStatus httpStatus, final String logRef) {
+        final String message =
+                Optional.of(exception.getMessage()).orElse(exception.getClass().getSimpleName());
+        return new ResponseEntity<>(new VndErrors(logRef, message), httpStatus);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<VndErrors> assertionException(final IllegalArgumentException e) {
+        return error(e, HttpStatus.NOT_ACCEPTABLE, e.getLocalizedMessage());
+    }
+}
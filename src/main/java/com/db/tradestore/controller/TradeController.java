@@ -4,20 +4,36 @@ package com.db.tradestore.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.db.tradestore.exception.InvalidTradeException;
 import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeExportResult;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.model.TradeValidationRuleStats;
+import com.db.tradestore.service.TradeDedupCache;
+import com.db.tradestore.service.TradeExportService;
+import com.db.tradestore.service.TradeImportService;
 import com.db.tradestore.service.TradeService;
+import com.db.tradestore.validation.TradeValidationEngine;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 public class TradeController {
 	
 	
@@ -25,6 +41,18 @@ public class TradeController {
 	
 	@Autowired
     TradeService tradeService;	
+
+	@Autowired
+    TradeImportService tradeImportService;
+
+	@Autowired
+    TradeExportService tradeExportService;
+
+	@Autowired
+    TradeValidationEngine tradeValidationEngine;
+
+	@Autowired
+    TradeDedupCache tradeDedupCache;
 	
 	/**
 	 * Validates and stores a trade in the system.
@@ -35,21 +63,33 @@ public class TradeController {
 	 * If the trade fails validation or encounters an error during storage, an
 	 * appropriate error response is returned.
 	 *
+	 * A request repeating the idempotency key, or when no key is sent the exact
+	 * payload, of the latest request for the same trade within the dedup window
+	 * gets the original result without being validated or written again.
+	 *
 	 * @param trade The Trade object to be validated and stored.
+	 * @param idempotencyKey The optional Idempotency-Key request header.
 	 * @return ResponseEntity<String> containing a status code and a message.
 	 *   - HttpStatus.OK (200) if the trade is successfully validated and stored.
 	 *   - HttpStatus.BAD_REQUEST (400) if the trade fails validation.
 	 *   - HttpStatus.INTERNAL_SERVER_ERROR (500) if an error occurs during storage.
 	 */
     @PostMapping("/trade")
-    public ResponseEntity<String> validateAndStoreTrade(@RequestBody Trade trade) {
+    public ResponseEntity<String> validateAndStoreTrade(@RequestBody Trade trade,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Entering validateAndStoreTrade method.");
         log.debug("Received trade: {}", trade);
 
-        if (tradeService.isValid(trade)) {
-            log.info("Trade is valid. Proceeding to persist.");
-            tradeService.persist(trade);
-        } else {
+        boolean accepted = tradeDedupCache.execute(trade, idempotencyKey, () -> {
+            if (tradeService.isValid(trade)) {
+                log.info("Trade is valid. Proceeding to persist.");
+                tradeService.persist(trade);
+                return true;
+            }
+            return false;
+        });
+
+        if (!accepted) {
             log.warn("Invalid trade received. Trade ID: {}", trade.getTradeId());
             throw new InvalidTradeException(trade.getTradeId() + " Trade ID is not found");
         }
@@ -82,5 +122,109 @@ public class TradeController {
         return trades;
     }
 
-    
+    /**
+     * Retrieves a single trade by its trade ID.
+     *
+     * Trades that have expired and been moved to the archive are still returned.
+     *
+     * @param tradeId The trade ID to search for.
+     * @return ResponseEntity<Trade> containing the trade, or HttpStatus.NOT_FOUND (404) if it is unknown.
+     */
+    @GetMapping("/trade/{tradeId}")
+    public ResponseEntity<Trade> findTrade(@PathVariable("tradeId") String tradeId) {
+        log.info("Entering findTrade method. Trade ID: {}", tradeId);
+
+        return tradeService.findTrade(tradeId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Bulk imports a trade CSV file available to the server.
+     *
+     * This method validates every trade in the file with the same rules as
+     * POST /trade and stores the accepted trades in bulk.
+     *
+     * @param file The name of the CSV file, relative to the import directory.
+     * @return TradeImportResult with the counts and throughput of the import.
+     * @throws IOException If the file cannot be read.
+     */
+    @PostMapping("/trade/import")
+    public TradeImportResult importTrades(@RequestParam("file") String file) throws IOException {
+        log.info("Entering importTrades method. File: {}", file);
+
+        TradeImportResult result = tradeImportService.importFile(tradeImportService.resolveImportFile(file), true);
+
+        log.info("Exiting importTrades method.");
+        return result;
+    }
+
+    /**
+     * Streams the full book in a compact line-oriented format.
+     *
+     * Trades are written in trade ID order one page at a time, so the response can be
+     * of any size without holding the book in memory. An interrupted download can be
+     * resumed by passing the last trade ID received as the after parameter.
+     *
+     * @param format The export format, ndjson or csv.
+     * @param gzip   Whether to gzip the response.
+     * @param after  The trade ID to resume after; omit to export the whole book.
+     * @return ResponseEntity<StreamingResponseBody> streaming the trades.
+     */
+    @GetMapping("/trade/export")
+    public ResponseEntity<StreamingResponseBody> exportTrades(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(value = "after", defaultValue = "") String after) {
+        log.info("Entering exportTrades method. Format: {}, gzip: {}, after: {}", format, gzip, after);
+
+        TradeExportService.Format exportFormat = TradeExportService.Format.of(format);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(
+                exportFormat == TradeExportService.Format.NDJSON
+                        ? MediaType.APPLICATION_NDJSON : new MediaType("text", "csv"));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        log.info("Exiting exportTrades method.");
+        return response.body(out -> tradeExportService.export(out, after, exportFormat, gzip));
+    }
+
+    /**
+     * Exports the full book to a file on the server.
+     *
+     * The export records a checkpoint after every page; running it again for the same
+     * file after an interruption resumes from the checkpoint.
+     *
+     * @param file   The name of the export file, relative to the export directory.
+     * @param format The export format, ndjson or csv.
+     * @param gzip   Whether to gzip the file.
+     * @return TradeExportResult with the counts of the export.
+     * @throws IOException If the file cannot be written.
+     */
+    @PostMapping("/trade/export")
+    public TradeExportResult exportTradesToFile(@RequestParam("file") String file,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", defaultValue = "true") boolean gzip) throws IOException {
+        log.info("Entering exportTradesToFile method. File: {}", file);
+
+        TradeExportResult result = tradeExportService.exportToFile(tradeExportService.resolveExportFile(file),
+                TradeExportService.Format.of(format), gzip);
+
+        log.info("Exiting exportTradesToFile method.");
+        return result;
+    }
+
+    /**
+     * Retrieves the metrics of the validation rules.
+     *
+     * The rules are listed in their current evaluation order.
+     *
+     * @return List<TradeValidationRuleStats> containing one entry per enabled rule.
+     */
+    @GetMapping("/trade/validation/rules")
+    public List<TradeValidationRuleStats> findValidationRuleStats() {
+        log.info("Entering findValidationRuleStats method.");
+        return tradeValidationEngine.getRuleStats();
+    }
 }
@@ -1,6 +1,8 @@
 package com.db.tradestore.controller;
 
+import com.db.tradestore.exception.IdempotencyKeyConflictException;
 import com.db.tradestore.exception.InvalidTradeException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.hateoas.mediatype.vnderrors.VndErrors;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +14,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import java.util.Optional;
 
 @ControllerAdvice
+@Profile("!reactive")
 @RequestMapping(produces = "application/vnd.error+json")
 public class TradeControllerAdvice extends ResponseEntityExceptionHandler{
     @ExceptionHandler(InvalidTradeException.class)
@@ -19,6 +22,11 @@ public class TradeControllerAdvice extends ResponseEntityExceptionHandler{
         return error(e, HttpStatus.NOT_ACCEPTABLE, e.getId());
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<VndErrors> idempotencyKeyConflictException(final IdempotencyKeyConflictException e) {
+        return error(e, HttpStatus.UNPROCESSABLE_ENTITY, e.getId());
+    }
+
     private ResponseEntity<VndErrors> error(
             final Exception exception, final HttpStatus httpStatus, final String logRef) {
         final String message =
@@ -0,0 +1,29 @@
+package com.db.tradestore.exception;
+
+/**
+ * Exception thrown when an idempotency key is reused for a different trade payload.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private final String id;
+
+    /**
+     * Constructs an IdempotencyKeyConflictException for the specified trade ID and key.
+     *
+     * @param id             The trade ID of the conflicting request.
+     * @param idempotencyKey The reused idempotency key.
+     */
+    public IdempotencyKeyConflictException(final String id, final String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different payload of Trade: " + id);
+        this.id = id;
+    }
+
+    /**
+     * Gets the trade ID of the conflicting request.
+     *
+     * @return The trade ID.
+     */
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,411 @@
+package com.db.tradestore.importer;
+
+import com.db.tradestore.model.Trade;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A parser for trade CSV files read through memory-mapped buffers.
+ *
+ * Each record holds the columns tradeId, version, counterParty, bookId, maturityDate,
+ * createdDate and expiredFlag, with dates in ISO yyyy-MM-dd format and text in UTF-8.
+ * Fields may be quoted as in RFC 4180: a quoted field can contain commas, line breaks
+ * and quotes written as two double quotes. An empty unquoted text field is read as
+ * null and an empty quoted field as an empty string. An optional header line, a line
+ * starting with "tradeId" that is not a valid record, is skipped. Numbers, dates and
+ * the expired flag are decoded straight from the bytes; counterparty and book IDs,
+ * which repeat heavily in end-of-day files, are served from a small cache so only the
+ * trade ID allocates a new String per line.
+ *
+ * A parser instance is not thread-safe; use one instance per chunk.
+ */
+public class TradeFileParser {
+
+    private static final byte COMMA = ',';
+
+    private static final byte LF = '\n';
+
+    private static final byte CR = '\r';
+
+    private static final byte SPACE = ' ';
+
+    private static final byte QUOTE = '"';
+
+    private static final byte[] HEADER = "tradeId".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int FIELD_COUNT = 7;
+
+    private static final int CACHE_SIZE = 1024;
+
+    private static final int SPLIT_BLOCK_SIZE = 1 << 20;
+
+    private final ByteBuffer buffer;
+
+    private final int[] fieldStart = new int[FIELD_COUNT];
+
+    private final int[] fieldEnd = new int[FIELD_COUNT];
+
+    private final boolean[] fieldQuoted = new boolean[FIELD_COUNT];
+
+    private final boolean[] fieldEscaped = new boolean[FIELD_COUNT];
+
+    private final RecordScanner scanner = new RecordScanner();
+
+    private final String[] stringCache = new String[CACHE_SIZE];
+
+    private final byte[][] stringCacheBytes = new byte[CACHE_SIZE][];
+
+    private byte[] scratch = new byte[64];
+
+    private int malformedCount;
+
+    /**
+     * Constructs a parser over the given buffer.
+     *
+     * @param buffer The buffer holding whole records, from its position to its limit.
+     */
+    public TradeFileParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Splits a file into chunks of roughly the given size that end on record boundaries.
+     *
+     * The file is read once sequentially to follow quoted fields, so a line break inside
+     * a quoted field never ends a chunk. The read also brings the file into the page
+     * cache ahead of the chunks being mapped.
+     *
+     * @param channel   The channel of the file to split.
+     * @param chunkSize The target chunk size in bytes; at most Integer.MAX_VALUE.
+     * @return List of {start, end} byte offsets, one per chunk.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<long[]> split(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer block = ByteBuffer.allocateDirect(SPLIT_BLOCK_SIZE);
+        RecordScanner scanner = new RecordScanner();
+
+        long start = 0;
+        long position = 0;
+        while (position < size) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                // End the chunk just past the first record end at or beyond the target size.
+                if (scanner.accept(block.get(i)) && position + i + 1 - start >= chunkSize) {
+                    chunks.add(new long[]{start, position + i + 1});
+                    start = position + i + 1;
+                }
+            }
+            position += read;
+        }
+        if (start < size) {
+            chunks.add(new long[]{start, size});
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Maps a chunk of a file into memory.
+     *
+     * @param channel The channel of the file.
+     * @param chunk   The {start, end} byte offsets of the chunk.
+     * @return A read-only buffer over the chunk.
+     * @throws IOException If the chunk cannot be mapped.
+     */
+    public static ByteBuffer map(FileChannel channel, long[] chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+    }
+
+    /**
+     * Parses the next trade from the buffer, skipping blank, header and malformed records.
+     *
+     * @return The next Trade, or null when the buffer is exhausted.
+     */
+    public Trade next() {
+        while (buffer.hasRemaining()) {
+            int lineStart = buffer.position();
+            int lineEnd = lineStart;
+            int limit = buffer.limit();
+            scanner.reset();
+            while (lineEnd < limit && !scanner.accept(buffer.get(lineEnd))) {
+                lineEnd++;
+            }
+            buffer.position(Math.min(lineEnd + 1, limit));
+
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CR) {
+                lineEnd--;
+            }
+            if (lineEnd == lineStart) {
+                continue;
+            }
+
+            Trade trade = parseLine(lineStart, lineEnd);
+            if (trade != null) {
+                return trade;
+            }
+            if (!startsWith(lineStart, lineEnd, HEADER)) {
+                malformedCount++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of malformed records skipped so far.
+     *
+     * @return The malformed line count.
+     */
+    public int getMalformedCount() {
+        return malformedCount;
+    }
+
+    private Trade parseLine(int lineStart, int lineEnd) {
+        int field = 0;
+        int i = lineStart;
+        while (true) {
+            while (i < lineEnd && buffer.get(i) == SPACE) {
+                i++;
+            }
+
+            if (i < lineEnd && buffer.get(i) == QUOTE) {
+                int start = ++i;
+                boolean escaped = false;
+                while (true) {
+                    if (i >= lineEnd) {
+                        return null;
+                    }
+                    if (buffer.get(i) == QUOTE) {
+                        if (i + 1 < lineEnd && buffer.get(i + 1) == QUOTE) {
+                            escaped = true;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                fieldStart[field] = start;
+                fieldEnd[field] = i;
+                fieldQuoted[field] = true;
+                fieldEscaped[field] = escaped;
+
+                i++;
+                while (i < lineEnd && buffer.get(i) == SPACE) {
+                    i++;
+                }
+                if (i < lineEnd && buffer.get(i) != COMMA) {
+                    return null;
+                }
+            } else {
+                int start = i;
+                while (i < lineEnd && buffer.get(i) != COMMA) {
+                    i++;
+                }
+                int end = i;
+                while (end > start && buffer.get(end - 1) == SPACE) {
+                    end--;
+                }
+                fieldStart[field] = start;
+                fieldEnd[field] = end;
+                fieldQuoted[field] = false;
+                fieldEscaped[field] = false;
+            }
+
+            if (i >= lineEnd) {
+                break;
+            }
+            if (field == FIELD_COUNT - 1) {
+                return null;
+            }
+            field++;
+            i++;
+        }
+        if (field != FIELD_COUNT - 1) {
+            return null;
+        }
+
+        try {
+            if (fieldStart[0] == fieldEnd[0]) {
+                return null;
+            }
+            Trade trade = new Trade();
+            trade.setTradeId(fieldEscaped[0] ? unescape(fieldStart[0], fieldEnd[0]) : newString(fieldStart[0], fieldEnd[0]));
+            trade.setVersion(parseInt(fieldStart[1], fieldEnd[1]));
+            trade.setCounterParty(text(2));
+            trade.setBookId(text(3));
+            trade.setMaturityDate(parseDate(fieldStart[4], fieldEnd[4]));
+            trade.setCreatedDate(fieldStart[5] == fieldEnd[5] ? null : parseDate(fieldStart[5], fieldEnd[5]));
+            trade.setExpiredFlag(text(6));
+            return trade;
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private String text(int field) {
+        if (fieldStart[field] == fieldEnd[field]) {
+            return fieldQuoted[field] ? "" : null;
+        }
+        if (fieldEscaped[field]) {
+            return unescape(fieldStart[field], fieldEnd[field]);
+        }
+        return cachedString(fieldStart[field], fieldEnd[field]);
+    }
+
+    private boolean startsWith(int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parseInt(int start, int end) {
+        if (start == end || end - start > 9) {
+            throw new NumberFormatException("Invalid version");
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid version");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private LocalDate parseDate(int start, int end) {
+        if (end - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            throw new DateTimeException("Invalid date");
+        }
+        return LocalDate.of(parseInt(start, start + 4), parseInt(start + 5, start + 7), parseInt(start + 8, start + 10));
+    }
+
+    private String newString(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[length];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String unescape(int start, int end) {
+        if (scratch.length < end - start) {
+            scratch = new byte[end - start];
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            scratch[length++] = b;
+            if (b == QUOTE) {
+                i++;
+            }
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String cachedString(int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+
+        // Entries are compared on their encoded bytes, so multi-byte characters cannot produce false hits.
+        byte[] cachedBytes = stringCacheBytes[slot];
+        if (cachedBytes != null && matches(cachedBytes, start, end)) {
+            return stringCache[slot];
+        }
+        String value = newString(start, end);
+        stringCacheBytes[slot] = Arrays.copyOf(scratch, end - start);
+        stringCache[slot] = value;
+        return value;
+    }
+
+    private boolean matches(byte[] value, int start, int end) {
+        if (value.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (value[i] != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds record ends in a stream of CSV bytes.
+     *
+     * A quote opens a quoted field only at the start of a field, so a stray quote in
+     * an unquoted field does not swallow the records after it.
+     */
+    private static final class RecordScanner {
+
+        private boolean inQuotes;
+
+        private boolean quoteClosed;
+
+        private boolean fieldStart = true;
+
+        void reset() {
+            inQuotes = false;
+            quoteClosed = false;
+            fieldStart = true;
+        }
+
+        /**
+         * Advances the scanner by one byte.
+         *
+         * @param b The next byte of the stream.
+         * @return true if the byte is the line feed that ends a record; false otherwise.
+         */
+        boolean accept(byte b) {
+            if (inQuotes) {
+                if (b == QUOTE) {
+                    inQuotes = false;
+                    quoteClosed = true;
+                }
+                return false;
+            }
+            if (b == QUOTE && (fieldStart || quoteClosed)) {
+                // Either an opening quote, or the second quote of an escaped pair.
+                inQuotes = true;
+                fieldStart = false;
+                quoteClosed = false;
+                return false;
+            }
+            quoteClosed = false;
+            if (b == LF) {
+                fieldStart = true;
+                return true;
+            }
+            if (b == COMMA) {
+                fieldStart = true;
+            } else if (b != SPACE) {
+                fieldStart = false;
+            }
+            return false;
+        }
+    }
+}
@@ -2,17 +2,23 @@ package com.db.tradestore.model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 
 /**
  * A class representing a trade.
+ *
+ * The class is mapped both as a JPA entity and as a Spring Data R2DBC entity for the
+ * reactive stack; both mappings use the same Trades table.
  */
 @Entity
-@Table(name = "Trades")
+@Table(name = "Trades", indexes = @Index(name = "idx_trades_maturity_date", columnList = "maturityDate"))
+@org.springframework.data.relational.core.mapping.Table("trades")
 public class Trade {
 
     @Id
+    @org.springframework.data.annotation.Id
     private String tradeId;
 
     private int version;
@@ -0,0 +1,77 @@
+package com.db.tradestore.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A class representing the archive index entry of a trade.
+ *
+ * It points to the segment holding the most recently archived copy of the trade and
+ * keeps its version, so the version rule still applies to trades that were archived.
+ */
+@Entity
+@Table(name = "Trade_Archive_Entries")
+public class TradeArchiveEntry {
+
+    @Id
+    private String tradeId;
+
+    private Long segmentId;
+
+    private int version;
+
+    /**
+     * Gets the trade ID.
+     *
+     * @return The trade ID.
+     */
+    public String getTradeId() {
+        return tradeId;
+    }
+
+    /**
+     * Sets the trade ID.
+     *
+     * @param tradeId The trade ID to set.
+     */
+    public void setTradeId(String tradeId) {
+        this.tradeId = tradeId;
+    }
+
+    /**
+     * Gets the ID of the segment holding the trade.
+     *
+     * @return The segment ID.
+     */
+    public Long getSegmentId() {
+        return segmentId;
+    }
+
+    /**
+     * Sets the ID of the segment holding the trade.
+     *
+     * @param segmentId The segment ID to set.
+     */
+    public void setSegmentId(Long segmentId) {
+        this.segmentId = segmentId;
+    }
+
+    /**
+     * Gets the version the trade was archived with.
+     *
+     * @return The archived version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version the trade was archived with.
+     *
+     * @param version The archived version to set.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,103 @@
+package com.db.tradestore.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * A class representing a segment of the cold trade archive.
+ *
+ * A segment holds the expired trades moved out of the active store by one expiry
+ * sweep, as gzip-compressed CSV in the bulk import format.
+ */
+@Entity
+@Table(name = "Trade_Archive_Segments")
+public class TradeArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long segmentId;
+
+    private LocalDate archivedDate;
+
+    private int tradeCount;
+
+    @Lob
+    private byte[] payload;
+
+    /**
+     * Gets the segment ID.
+     *
+     * @return The segment ID.
+     */
+    public Long getSegmentId() {
+        return segmentId;
+    }
+
+    /**
+     * Sets the segment ID.
+     *
+     * @param segmentId The segment ID to set.
+     */
+    public void setSegmentId(Long segmentId) {
+        this.segmentId = segmentId;
+    }
+
+    /**
+     * Gets the date the segment was archived.
+     *
+     * @return The archived date.
+     */
+    public LocalDate getArchivedDate() {
+        return archivedDate;
+    }
+
+    /**
+     * Sets the date the segment was archived.
+     *
+     * @param archivedDate The archived date to set.
+     */
+    public void setArchivedDate(LocalDate archivedDate) {
+        this.archivedDate = archivedDate;
+    }
+
+    /**
+     * Gets the number of trades in the segment.
+     *
+     * @return The trade count.
+     */
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * Sets the number of trades in the segment.
+     *
+     * @param tradeCount The trade count to set.
+     */
+    public void setTradeCount(int tradeCount) {
+        this.tradeCount = tradeCount;
+    }
+
+    /**
+     * Gets the compressed trades of the segment.
+     *
+     * @return The gzip-compressed CSV payload.
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Sets the compressed trades of the segment.
+     *
+     * @param payload The gzip-compressed CSV payload to set.
+     */
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,96 @@
+package com.db.tradestore.model;
+
+/**
+ * A class representing the outcome of a bulk trade export.
+ */
+public class TradeExportResult {
+
+    private final long tradesWritten;
+
+    private final long bytesWritten;
+
+    private final String lastTradeId;
+
+    private final boolean resumed;
+
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a TradeExportResult.
+     *
+     * @param tradesWritten The number of trades written by this run.
+     * @param bytesWritten  The number of bytes written by this run.
+     * @param lastTradeId   The last trade ID written, usable as a checkpoint.
+     * @param resumed       Whether this run resumed from a checkpoint.
+     * @param elapsedMillis The duration of the export in milliseconds.
+     */
+    public TradeExportResult(long tradesWritten, long bytesWritten, String lastTradeId, boolean resumed,
+                             long elapsedMillis) {
+        this.tradesWritten = tradesWritten;
+        this.bytesWritten = bytesWritten;
+        this.lastTradeId = lastTradeId;
+        this.resumed = resumed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of trades written by this run.
+     *
+     * @return The number of trades written.
+     */
+    public long getTradesWritten() {
+        return tradesWritten;
+    }
+
+    /**
+     * Gets the number of bytes written by this run.
+     *
+     * @return The number of bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Gets the last trade ID written.
+     *
+     * @return The last trade ID, or an empty string if nothing was written.
+     */
+    public String getLastTradeId() {
+        return lastTradeId;
+    }
+
+    /**
+     * Gets whether this run resumed from a checkpoint.
+     *
+     * @return true if the export was resumed; false otherwise.
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /**
+     * Gets the duration of the export.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Generates a string representation of the export result.
+     *
+     * @return A string representation of the export result.
+     */
+    @Override
+    public String toString() {
+        return "TradeExportResult{" +
+                "tradesWritten=" + tradesWritten +
+                ", bytesWritten=" + bytesWritten +
+                ", lastTradeId='" + lastTradeId + '\'' +
+                ", resumed=" + resumed +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,105 @@
+package com.db.tradestore.model;
+
+/**
+ * A class representing the outcome of a bulk trade import.
+ */
+public class TradeImportResult {
+
+    private final long rowsRead;
+
+    private final long accepted;
+
+    private final long rejected;
+
+    private final long malformed;
+
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a TradeImportResult.
+     *
+     * @param rowsRead      The number of rows parsed successfully.
+     * @param accepted      The number of trades written to the store.
+     * @param rejected      The number of trades rejected by validation.
+     * @param malformed     The number of lines that could not be parsed.
+     * @param elapsedMillis The duration of the import in milliseconds.
+     */
+    public TradeImportResult(long rowsRead, long accepted, long rejected, long malformed, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.malformed = malformed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of rows parsed successfully.
+     *
+     * @return The number of rows read.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Gets the number of trades written to the store.
+     *
+     * @return The number of accepted trades.
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Gets the number of trades rejected by validation.
+     *
+     * @return The number of rejected trades.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the number of lines that could not be parsed.
+     *
+     * @return The number of malformed lines.
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * Gets the duration of the import.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the import throughput.
+     *
+     * @return The number of rows read per second.
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead * 1000 : rowsRead * 1000 / elapsedMillis;
+    }
+
+    /**
+     * Generates a string representation of the import result.
+     *
+     * @return A string representation of the import result.
+     */
+    @Override
+    public String toString() {
+        return "TradeImportResult{" +
+                "rowsRead=" + rowsRead +
+                ", accepted=" + accepted +
+                ", rejected=" + rejected +
+                ", malformed=" + malformed +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + getRowsPerSecond() +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.db.tradestore.model;
+
+/**
+ * A class representing the outcome of ingesting one trade of a stream.
+ */
+public class TradeIngestResult {
+
+    private final String tradeId;
+
+    private final boolean accepted;
+
+    /**
+     * Constructs a TradeIngestResult.
+     *
+     * @param tradeId  The trade ID.
+     * @param accepted Whether the trade was validated and stored.
+     */
+    public TradeIngestResult(String tradeId, boolean accepted) {
+        this.tradeId = tradeId;
+        this.accepted = accepted;
+    }
+
+    /**
+     * Gets the trade ID.
+     *
+     * @return The trade ID.
+     */
+    public String getTradeId() {
+        return tradeId;
+    }
+
+    /**
+     * Gets whether the trade was validated and stored.
+     *
+     * @return true if the trade was accepted; false otherwise.
+     */
+    public boolean isAccepted() {
+        return accepted;
+    }
+}
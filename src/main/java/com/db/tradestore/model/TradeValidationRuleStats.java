@@ -0,0 +1,88 @@
+package com.db.tradestore.model;
+
+/**
+ * A class representing the metrics of a trade validation rule.
+ */
+public class TradeValidationRuleStats {
+
+    private final String name;
+
+    private final long evaluated;
+
+    private final long rejected;
+
+    private final long totalNanos;
+
+    private final long prefetchNanos;
+
+    /**
+     * Constructs a TradeValidationRuleStats.
+     *
+     * @param name          The rule name.
+     * @param evaluated     The number of trades the rule has tested.
+     * @param rejected      The number of trades the rule has rejected.
+     * @param totalNanos    The total time spent testing trades, in nanoseconds.
+     * @param prefetchNanos The total time spent fetching state for batches, in nanoseconds.
+     */
+    public TradeValidationRuleStats(String name, long evaluated, long rejected, long totalNanos, long prefetchNanos) {
+        this.name = name;
+        this.evaluated = evaluated;
+        this.rejected = rejected;
+        this.totalNanos = totalNanos;
+        this.prefetchNanos = prefetchNanos;
+    }
+
+    /**
+     * Gets the rule name.
+     *
+     * @return The rule name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of trades the rule has tested.
+     *
+     * @return The number of evaluations.
+     */
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * Gets the number of trades the rule has rejected.
+     *
+     * @return The number of rejections.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the share of tested trades the rule has rejected.
+     *
+     * @return The reject rate between 0 and 1.
+     */
+    public double getRejectRate() {
+        return evaluated == 0 ? 0 : (double) rejected / evaluated;
+    }
+
+    /**
+     * Gets the mean time spent testing a trade.
+     *
+     * @return The mean evaluation time in nanoseconds.
+     */
+    public long getMeanNanos() {
+        return evaluated == 0 ? 0 : totalNanos / evaluated;
+    }
+
+    /**
+     * Gets the total time spent fetching state for batches.
+     *
+     * @return The prefetch time in nanoseconds.
+     */
+    public long getPrefetchNanos() {
+        return prefetchNanos;
+    }
+}
@@ -0,0 +1,64 @@
+package com.db.tradestore.repository;
+
+import com.db.tradestore.model.Trade;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * A Spring Data R2DBC repository for managing Trade entities on the reactive stack.
+ *
+ * It mirrors {@link TradeRepository} against the same Trades table. Trades carry an
+ * assigned ID, so writes go through {@link #upsert} rather than save, which would
+ * treat every trade with an ID as an update.
+ */
+@Repository
+public interface ReactiveTradeRepository extends R2dbcRepository<Trade, String> {
+
+    /**
+     * Inserts a trade or updates the stored trade if its version is not higher.
+     *
+     * @return Mono emitting the number of rows written, 0 if the stored version is higher.
+     */
+    @Modifying
+    @Query("MERGE INTO trades t USING (VALUES (CAST(:tradeId AS VARCHAR), CAST(:version AS INTEGER), "
+            + "CAST(:counterParty AS VARCHAR), CAST(:bookId AS VARCHAR), CAST(:maturityDate AS DATE), "
+            + "CAST(:createdDate AS DATE), CAST(:expiredFlag AS VARCHAR))) "
+            + "AS s(trade_id, version, counter_party, book_id, maturity_date, created_date, expired_flag) "
+            + "ON t.trade_id = s.trade_id "
+            + "WHEN MATCHED AND t.version <= s.version THEN UPDATE SET version = s.version, "
+            + "counter_party = s.counter_party, book_id = s.book_id, maturity_date = s.maturity_date, "
+            + "created_date = s.created_date, expired_flag = s.expired_flag "
+            + "WHEN NOT MATCHED THEN INSERT (trade_id, version, counter_party, book_id, maturity_date, "
+            + "created_date, expired_flag) VALUES (s.trade_id, s.version, s.counter_party, s.book_id, "
+            + "s.maturity_date, s.created_date, s.expired_flag)")
+    Mono<Integer> upsert(String tradeId, int version, String counterParty, String bookId, LocalDate maturityDate,
+                         LocalDate createdDate, String expiredFlag);
+
+    /**
+     * Finds the highest stored or archived version of the given trades.
+     *
+     * @param tradeIds The trade IDs to look up.
+     * @return Flux emitting one Trade per known trade ID with only the trade ID and version set.
+     */
+    @Query("SELECT trade_id, MAX(version) AS version FROM (SELECT trade_id, version FROM trades "
+            + "WHERE trade_id IN (:tradeIds) UNION ALL SELECT trade_id, version FROM trade_archive_entries "
+            + "WHERE trade_id IN (:tradeIds)) v GROUP BY trade_id")
+    Flux<Trade> findVersions(Collection<String> tradeIds);
+
+    /**
+     * Counts the live trades of a counterparty.
+     *
+     * @param counterParty The counterparty.
+     * @return Mono emitting the number of trades not flagged as expired.
+     */
+    @Query("SELECT COUNT(*) FROM trades WHERE counter_party = :counterParty "
+            + "AND (expired_flag IS NULL OR expired_flag <> 'Y')")
+    Mono<Long> countLiveTrades(String counterParty);
+}
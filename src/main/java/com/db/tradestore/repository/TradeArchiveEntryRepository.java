@@ -0,0 +1,12 @@
+package com.db.tradestore.repository;
+
+import com.db.tradestore.model.TradeArchiveEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A Spring Data JPA repository for managing TradeArchiveEntry entities.
+ */
+@Repository
+public interface TradeArchiveEntryRepository extends JpaRepository<TradeArchiveEntry, String> {
+}
@@ -0,0 +1,12 @@
+package com.db.tradestore.repository;
+
+import com.db.tradestore.model.TradeArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A Spring Data JPA repository for managing TradeArchiveSegment entities.
+ */
+@Repository
+public interface TradeArchiveSegmentRepository extends JpaRepository<TradeArchiveSegment, Long> {
+}
@@ -0,0 +1,224 @@
+package com.db.tradestore.repository;
+
+import com.db.tradestore.model.Trade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JDBC repository for bulk reads and writes of the Trades table and its archive index.
+ *
+ * Spring Data's saveAll issues a select per entity with an assigned ID before
+ * writing it, which dominates bulk loads. This repository batches writes into a
+ * single MERGE statement that also enforces the version rule in the database, so
+ * concurrent loaders cannot overwrite a trade with a lower version.
+ */
+@Repository
+public class TradeBulkRepository {
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private static final String MERGE_SQL =
+            "MERGE INTO trades t USING (VALUES (CAST(? AS VARCHAR), CAST(? AS INTEGER), CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR), CAST(? AS DATE), CAST(? AS DATE), CAST(? AS VARCHAR))) "
+            + "AS s(trade_id, version, counter_party, book_id, maturity_date, created_date, expired_flag) "
+            + "ON t.trade_id = s.trade_id "
+            + "WHEN MATCHED AND t.version <= s.version THEN UPDATE SET version = s.version, "
+            + "counter_party = s.counter_party, book_id = s.book_id, maturity_date = s.maturity_date, "
+            + "created_date = s.created_date, expired_flag = s.expired_flag "
+            + "WHEN NOT MATCHED THEN INSERT (trade_id, version, counter_party, book_id, maturity_date, "
+            + "created_date, expired_flag) VALUES (s.trade_id, s.version, s.counter_party, s.book_id, "
+            + "s.maturity_date, s.created_date, s.expired_flag)";
+
+    private static final String VERSIONS_SQL =
+            "SELECT trade_id, MAX(version) FROM (SELECT trade_id, version FROM trades WHERE trade_id IN (:ids) "
+            + "UNION ALL SELECT trade_id, version FROM trade_archive_entries WHERE trade_id IN (:ids)) v "
+            + "GROUP BY trade_id";
+
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM trades WHERE trade_id = ? AND version = ? AND maturity_date <= ?";
+
+    private static final String MERGE_ARCHIVE_ENTRY_SQL =
+            "MERGE INTO trade_archive_entries (trade_id, segment_id, version) KEY (trade_id) VALUES (?, ?, ?)";
+
+    private static final String PAGE_SQL =
+            "SELECT trade_id, version, counter_party, book_id, maturity_date, created_date, expired_flag "
+            + "FROM trades WHERE trade_id > ? ORDER BY trade_id LIMIT ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Finds the stored versions of the given trades.
+     *
+     * Archived trades are included, so an expired trade cannot be brought back with
+     * a lower version than the one it was archived with.
+     *
+     * @param tradeIds The trade IDs to look up.
+     * @return Map of trade ID to highest stored or archived version; unknown trades are absent.
+     */
+    public Map<String, Integer> findVersions(Collection<String> tradeIds) {
+        Map<String, Integer> versions = new HashMap<>();
+        List<String> ids = new ArrayList<>(tradeIds);
+
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids",
+                    ids.subList(from, Math.min(from + IN_CLAUSE_SIZE, ids.size())));
+            namedParameterJdbcTemplate.query(VERSIONS_SQL, params,
+                    rs -> {
+                        versions.put(rs.getString(1), rs.getInt(2));
+                    });
+        }
+
+        return versions;
+    }
+
+    /**
+     * Counts the live trades of the given counterparties.
+     *
+     * @param counterParties The counterparties to count trades for.
+     * @return Map of counterparty to number of trades not flagged as expired; counterparties without trades are absent.
+     */
+    public Map<String, Integer> countLiveTradesByCounterParty(Collection<String> counterParties) {
+        Map<String, Integer> counts = new HashMap<>();
+        List<String> names = new ArrayList<>(counterParties);
+
+        for (int from = 0; from < names.size(); from += IN_CLAUSE_SIZE) {
+            MapSqlParameterSource params = new MapSqlParameterSource("names",
+                    names.subList(from, Math.min(from + IN_CLAUSE_SIZE, names.size())));
+            namedParameterJdbcTemplate.query("SELECT counter_party, COUNT(*) FROM trades WHERE counter_party IN (:names) "
+                    + "AND (expired_flag IS NULL OR expired_flag <> 'Y') GROUP BY counter_party", params,
+                    rs -> {
+                        counts.put(rs.getString(1), rs.getInt(2));
+                    });
+        }
+
+        return counts;
+    }
+
+    /**
+     * Deletes expired trades that have not changed since they were read.
+     *
+     * A trade is only deleted while it still has the given version and a maturity date
+     * on or before the given date, so an amendment written after the trades were read
+     * is kept. Deleted rows stay locked until the surrounding transaction ends.
+     *
+     * @param trades The expired trades as read.
+     * @param asOf   The date the trades expired by.
+     * @return List<Trade> containing the trades that were deleted.
+     */
+    public List<Trade> deleteExpired(List<Trade> trades, LocalDate asOf) {
+        if (trades.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_EXPIRED_SQL, trades, trades.size(), (ps, trade) -> {
+            ps.setString(1, trade.getTradeId());
+            ps.setInt(2, trade.getVersion());
+            ps.setDate(3, Date.valueOf(asOf));
+        });
+
+        List<Trade> deleted = new ArrayList<>(trades.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    deleted.add(trades.get(index));
+                }
+                index++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Finds a page of trades ordered by trade ID.
+     *
+     * Pages are read with a keyset condition on the primary key rather than an
+     * offset, so every page costs the same however deep into the book it is.
+     *
+     * @param afterTradeId The trade ID the page starts after; an empty string starts at the beginning.
+     * @param limit        The maximum number of trades in the page.
+     * @return List<Trade> containing the page, empty once the book is exhausted.
+     */
+    public List<Trade> findPage(String afterTradeId, int limit) {
+        return jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> {
+            Trade trade = new Trade();
+            trade.setTradeId(rs.getString(1));
+            trade.setVersion(rs.getInt(2));
+            trade.setCounterParty(rs.getString(3));
+            trade.setBookId(rs.getString(4));
+            trade.setMaturityDate(rs.getObject(5, LocalDate.class));
+            trade.setCreatedDate(rs.getObject(6, LocalDate.class));
+            trade.setExpiredFlag(rs.getString(7));
+            return trade;
+        }, afterTradeId, limit);
+    }
+
+    /**
+     * Inserts or updates trades in one JDBC batch.
+     *
+     * A stored trade is only updated when its version is lower than or equal to the
+     * version of the incoming trade.
+     *
+     * @param trades The trades to write.
+     * @return The number of trades written; trades skipped by the version rule are not counted.
+     */
+    public int mergeAll(List<Trade> trades) {
+        if (trades.isEmpty()) {
+            return 0;
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(MERGE_SQL, trades, trades.size(), (ps, trade) -> {
+            ps.setString(1, trade.getTradeId());
+            ps.setInt(2, trade.getVersion());
+            ps.setString(3, trade.getCounterParty());
+            ps.setString(4, trade.getBookId());
+            ps.setDate(5, Date.valueOf(trade.getMaturityDate()));
+            ps.setDate(6, trade.getCreatedDate() == null ? null : Date.valueOf(trade.getCreatedDate()));
+            ps.setString(7, trade.getExpiredFlag());
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                written += count;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Points the archive index entries of trades at the segment holding them.
+     *
+     * The entries are written in one JDBC batch; an entry left by an earlier archiving
+     * of the same trade ID is replaced.
+     *
+     * @param trades    The archived trades.
+     * @param segmentId The ID of the segment the trades were written to.
+     */
+    public void mergeArchiveEntries(List<Trade> trades, long segmentId) {
+        if (trades.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(MERGE_ARCHIVE_ENTRY_SQL, trades, trades.size(), (ps, trade) -> {
+            ps.setString(1, trade.getTradeId());
+            ps.setLong(2, segmentId);
+            ps.setInt(3, trade.getVersion());
+        });
+    }
+}
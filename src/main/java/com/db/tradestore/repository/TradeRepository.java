@@ -4,9 +4,20 @@ import com.db.tradestore.model.Trade;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * A Spring Data JPA repository for managing Trade entities.
  */
 @Repository
 public interface TradeRepository extends JpaRepository<Trade, String> {
+
+    /**
+     * Finds the trades maturing on or before a date.
+     *
+     * @param date The date to compare maturity dates with.
+     * @return List<Trade> containing the matured trades.
+     */
+    List<Trade> findByMaturityDateLessThanEqual(LocalDate date);
 }
@@ -1,6 +1,7 @@
 package com.db.tradestore.schedular;
 
 import com.db.tradestore.service.TradeService;
+import com.db.tradestore.validation.TradeValidationEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,9 @@ public class TradeScheduler {
     @Autowired
     TradeService tradeService;
 
+    @Autowired
+    TradeValidationEngine tradeValidationEngine;
+
     /**
      * Scheduled task to update the expiry flags of trades.
      */
@@ -34,4 +38,12 @@ public class TradeScheduler {
         log.info("The time is now {}", dateFormat.format(new Date()));
         tradeService.updateExpiryFlagOfTrade();
     }
+
+    /**
+     * Scheduled task to re-order the validation rules by observed reject rate.
+     */
+    @Scheduled(fixedDelayString = "${trade.validation.reorder-interval-ms}")
+    public void reorderValidationRules() {
+        tradeValidationEngine.reorder();
+    }
 }
@@ -0,0 +1,167 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.model.TradeIngestResult;
+import com.db.tradestore.repository.ReactiveTradeRepository;
+import com.db.tradestore.validation.CounterPartyLimitRule;
+import com.db.tradestore.validation.TradeValidationContext;
+import com.db.tradestore.validation.TradeValidationEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The non-blocking counterpart of {@link TradeService}, active with the reactive profile.
+ *
+ * Incoming trades are buffered into batches that are processed one at a time, so a
+ * fast producer is slowed down to the pace of the store instead of piling up in
+ * memory. The state needed by the validation rules is fetched per batch through
+ * R2DBC, the configured rule chain is applied in memory and the accepted trades are
+ * written with a bounded number of concurrent statements.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTradeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTradeService.class);
+
+    @Autowired
+    ReactiveTradeRepository reactiveTradeRepository;
+
+    @Autowired
+    TradeValidationEngine tradeValidationEngine;
+
+    @Autowired
+    TradeArchiveService tradeArchiveService;
+
+    @Value("${trade.reactive.batch-size:500}")
+    int batchSize;
+
+    @Value("${trade.reactive.concurrency:64}")
+    int concurrency;
+
+    /**
+     * Validates and persists a single trade.
+     *
+     * @param trade The Trade object to be validated and stored.
+     * @return Mono emitting true if the trade was accepted; false otherwise.
+     */
+    public Mono<Boolean> validateAndPersist(Trade trade) {
+        return ingestBatch(List.of(trade)).next().map(TradeIngestResult::isAccepted);
+    }
+
+    /**
+     * Validates and persists a stream of trades.
+     *
+     * @param trades The trades to ingest.
+     * @return Flux emitting one result per trade, in input order.
+     */
+    public Flux<TradeIngestResult> ingest(Flux<Trade> trades) {
+        return trades.buffer(batchSize).concatMap(this::ingestBatch);
+    }
+
+    /**
+     * Validates and persists a stream of trades and summarises the outcome.
+     *
+     * @param trades The trades to ingest.
+     * @return Mono emitting TradeImportResult with the counts of the ingest.
+     */
+    public Mono<TradeImportResult> ingestAll(Flux<Trade> trades) {
+        long start = System.nanoTime();
+        return ingest(trades)
+                .reduce(new long[2], (counts, result) -> {
+                    counts[result.isAccepted() ? 0 : 1]++;
+                    return counts;
+                })
+                .map(counts -> new TradeImportResult(counts[0] + counts[1], counts[0], counts[1], 0,
+                        (System.nanoTime() - start) / 1_000_000))
+                .doOnNext(result -> log.info("Reactive trade ingest completed: {}", result));
+    }
+
+    /**
+     * Retrieves all trades as a stream.
+     *
+     * @return Flux emitting every trade in the store.
+     */
+    public Flux<Trade> findAll() {
+        return reactiveTradeRepository.findAll();
+    }
+
+    /**
+     * Finds a trade by its trade ID, falling back to the archive for expired trades.
+     *
+     * @param tradeId The trade ID to search for.
+     * @return Mono emitting the Trade if found; otherwise empty.
+     */
+    public Mono<Trade> findTrade(String tradeId) {
+        // The archive is read through JPA, so the fallback runs off the event loop.
+        return reactiveTradeRepository.findById(tradeId)
+                .switchIfEmpty(Mono.fromCallable(() -> tradeArchiveService.findArchivedTrade(tradeId).orElse(null))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private Flux<TradeIngestResult> ingestBatch(List<Trade> batch) {
+        return prefetch(batch).flatMapMany(context -> {
+            // The context is not thread-safe, so the chain runs sequentially over the batch.
+            List<Mono<TradeIngestResult>> results = new ArrayList<>(batch.size());
+            for (Trade trade : batch) {
+                if (tradeValidationEngine.validate(trade, context)) {
+                    trade.setCreatedDate(context.getCurrentDate());
+                    results.add(upsert(trade));
+                } else {
+                    results.add(Mono.just(new TradeIngestResult(trade.getTradeId(), false)));
+                }
+            }
+
+            // Writes of the same trade must keep their order; distinct trades are written concurrently.
+            boolean distinct = batch.stream().map(Trade::getTradeId).distinct().count() == batch.size();
+            return distinct
+                    ? Flux.fromIterable(results).flatMapSequential(result -> result, concurrency)
+                    : Flux.fromIterable(results).concatMap(result -> result);
+        });
+    }
+
+    private Mono<TradeValidationContext> prefetch(List<Trade> batch) {
+        Set<String> tradeIds = batch.stream().map(Trade::getTradeId).collect(Collectors.toSet());
+        Mono<Map<String, Integer>> versions = reactiveTradeRepository.findVersions(tradeIds)
+                .collectMap(Trade::getTradeId, Trade::getVersion);
+
+        boolean fetchCounts = tradeValidationEngine.isRuleEnabled(CounterPartyLimitRule.NAME);
+        Mono<Map<String, Integer>> counts = Mono.just(Map.of());
+        if (fetchCounts) {
+            counts = Flux.fromIterable(batch.stream().map(Trade::getCounterParty).collect(Collectors.toSet()))
+                    .flatMap(counterParty -> reactiveTradeRepository.countLiveTrades(counterParty)
+                            .map(count -> Map.entry(counterParty, count.intValue())), concurrency)
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+        }
+
+        return Mono.zip(versions, counts).map(state -> {
+            TradeValidationContext context = new TradeValidationContext(LocalDate.now());
+            context.putExistingVersions(state.getT1());
+            if (fetchCounts) {
+                context.putCounterPartyTradeCounts(state.getT2());
+            }
+            return tradeValidationEngine.prepare(batch, context);
+        });
+    }
+
+    private Mono<TradeIngestResult> upsert(Trade trade) {
+        return reactiveTradeRepository.upsert(trade.getTradeId(), trade.getVersion(), trade.getCounterParty(),
+                        trade.getBookId(), trade.getMaturityDate(), trade.getCreatedDate(), trade.getExpiredFlag())
+                .map(rows -> new TradeIngestResult(trade.getTradeId(), rows > 0));
+    }
+}
@@ -0,0 +1,145 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeArchiveSegment;
+import com.db.tradestore.repository.TradeArchiveEntryRepository;
+import com.db.tradestore.repository.TradeArchiveSegmentRepository;
+import com.db.tradestore.repository.TradeBulkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A service for the cold tier of the trade store.
+ *
+ * Expired trades are moved out of the active store into archive segments of
+ * gzip-compressed newline-delimited JSON, so the active store and the expiry sweep
+ * only have to deal with the live book. JSON escapes separators and line breaks in
+ * the trade fields and keeps null fields null, so a trade reads back exactly as it
+ * was archived. Each archived trade keeps an index entry pointing at its segment,
+ * which lets a single trade be read back by ID.
+ */
+@Service
+public class TradeArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeArchiveService.class);
+
+    @Autowired
+    TradeBulkRepository tradeBulkRepository;
+
+    @Autowired
+    TradeArchiveSegmentRepository tradeArchiveSegmentRepository;
+
+    @Autowired
+    TradeArchiveEntryRepository tradeArchiveEntryRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${trade.archive.segment-size:10000}")
+    int segmentSize;
+
+    /**
+     * Moves expired trades from the active store to the archive.
+     *
+     * Each trade is deleted from the active store only if it is unchanged since it was
+     * read and still expired as of the given date, and only the deleted trades are
+     * archived. A trade amended concurrently with the sweep therefore stays live, and
+     * two overlapping sweeps cannot archive the same trade twice.
+     *
+     * @param trades The expired Trade objects as read by the sweep.
+     * @param asOf   The date the trades expired by.
+     * @return The number of trades archived.
+     */
+    @Transactional
+    public int archive(List<Trade> trades, LocalDate asOf) {
+        int archived = 0;
+        for (int from = 0; from < trades.size(); from += segmentSize) {
+            List<Trade> page = tradeBulkRepository.deleteExpired(
+                    trades.subList(from, Math.min(from + segmentSize, trades.size())), asOf);
+            if (page.isEmpty()) {
+                continue;
+            }
+
+            TradeArchiveSegment segment = new TradeArchiveSegment();
+            segment.setArchivedDate(asOf);
+            segment.setTradeCount(page.size());
+            segment.setPayload(compress(page));
+            segment = tradeArchiveSegmentRepository.save(segment);
+
+            tradeBulkRepository.mergeArchiveEntries(page, segment.getSegmentId());
+
+            log.info("Archived {} trades to segment {} ({} bytes).", page.size(), segment.getSegmentId(),
+                    segment.getPayload().length);
+            archived += page.size();
+        }
+        return archived;
+    }
+
+    /**
+     * Finds an archived trade by its trade ID.
+     *
+     * @param tradeId The trade ID to search for.
+     * @return The most recently archived copy of the trade, or empty if it was never archived.
+     */
+    public Optional<Trade> findArchivedTrade(String tradeId) {
+        return tradeArchiveEntryRepository.findById(tradeId)
+                .flatMap(entry -> tradeArchiveSegmentRepository.findById(entry.getSegmentId()))
+                .flatMap(segment -> findInSegment(segment.getPayload(), tradeId));
+    }
+
+    /**
+     * Gets the number of trades held in the archive.
+     *
+     * @return The number of archived trade IDs.
+     */
+    public long countArchivedTrades() {
+        return tradeArchiveEntryRepository.count();
+    }
+
+    private byte[] compress(List<Trade> trades) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (Trade trade : trades) {
+                gzip.write(objectMapper.writeValueAsBytes(trade));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Optional<Trade> findInSegment(byte[] payload, String tradeId) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(payload)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Trade trade = objectMapper.readValue(line, Trade.class);
+                if (tradeId.equals(trade.getTradeId())) {
+                    return Optional.of(trade);
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.exception.IdempotencyKeyConflictException;
+import com.db.tradestore.model.Trade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, time-windowed cache of the latest ingest result per trade.
+ *
+ * Upstream systems retry POST /trade on timeouts; both the Spring MVC and the
+ * WebFlux endpoint go through this cache. A retry carries the same idempotency key,
+ * or failing that the same payload, as the request it repeats; it is answered with
+ * the original result instead of being validated and written again.
+ * Concurrent retries of a request still in flight wait for its result. A request that
+ * reuses the idempotency key of the latest request of the trade with a different
+ * payload is rejected, since answering it with the original result would drop it.
+ *
+ * Only the latest request of each trade is kept, so re-sending an older payload after
+ * a newer amendment of the same trade is processed again rather than being swallowed.
+ * Requests for different trades never contend on a shared lock. Once the cache grows
+ * past its maximum size, expired entries and then the oldest ones are evicted by a
+ * single caller at a time.
+ */
+@Component
+public class TradeDedupCache {
+
+    @Value("${trade.dedup.enabled:true}")
+    boolean enabled;
+
+    @Value("${trade.dedup.max-entries:100000}")
+    int maxEntries;
+
+    @Value("${trade.dedup.window-ms:300000}")
+    long windowMillis;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * Runs an ingest action unless the same request for the trade was already seen within the window.
+     *
+     * @param trade          The Trade object being ingested.
+     * @param idempotencyKey The idempotency key sent by the client, or null to match on the payload.
+     * @param action         The ingest action, returning true if the trade was accepted.
+     * @return The result of the action, or the original result for a duplicate request.
+     * @throws IdempotencyKeyConflictException If the key was used for a different payload of the trade.
+     */
+    public boolean execute(Trade trade, String idempotencyKey, Supplier<Boolean> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        Entry created = new Entry(idempotencyKey, fingerprint(trade), System.currentTimeMillis());
+        Entry entry = claim(trade.getTradeId(), created);
+
+        if (entry != created) {
+            try {
+                return entry.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        try {
+            boolean result = action.get();
+            created.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Failures of any kind are not cached and release waiting retries, so a retry gets a fresh attempt.
+            created.result.completeExceptionally(e);
+            entries.remove(trade.getTradeId(), created);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a non-blocking ingest action unless the same request for the trade was already seen within the window.
+     *
+     * A duplicate request waits for the result of the original without blocking. If the
+     * original fails, the failure is passed to the waiting retries; if it is cancelled,
+     * for example because its client went away, the waiting retries run the action again.
+     *
+     * @param trade          The Trade object being ingested.
+     * @param idempotencyKey The idempotency key sent by the client, or null to match on the payload.
+     * @param action         The ingest action, emitting true if the trade was accepted.
+     * @return Mono emitting the result of the action, or the original result for a duplicate request;
+     *         an IdempotencyKeyConflictException error if the key was used for a different payload of the trade.
+     */
+    public Mono<Boolean> executeReactive(Trade trade, String idempotencyKey, Supplier<Mono<Boolean>> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        return Mono.defer(() -> {
+            Entry created = new Entry(idempotencyKey, fingerprint(trade), System.currentTimeMillis());
+            Entry entry = claim(trade.getTradeId(), created);
+
+            if (entry != created) {
+                // Waiting retries must not cancel the shared result when they are cancelled themselves.
+                return Mono.fromFuture(entry.result, true)
+                        .onErrorResume(CancellationException.class,
+                                e -> executeReactive(trade, idempotencyKey, action));
+            }
+
+            return action.get()
+                    .doOnNext(created.result::complete)
+                    .doOnError(e -> {
+                        created.result.completeExceptionally(e);
+                        entries.remove(trade.getTradeId(), created);
+                    })
+                    .doFinally(signal -> {
+                        if (!created.result.isDone()) {
+                            created.result.completeExceptionally(new CancellationException(
+                                    "Ingest of Trade " + trade.getTradeId() + " ended without a result"));
+                            entries.remove(trade.getTradeId(), created);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Gets the number of requests answered from the cache.
+     *
+     * @return The number of duplicate requests.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Finds the live entry a request repeats, or makes the given entry the latest request of the trade.
+     *
+     * @param tradeId The trade ID of the request.
+     * @param created The entry of the request.
+     * @return The entry of the repeated request, or the given entry if the request is new.
+     */
+    private Entry claim(String tradeId, Entry created) {
+        Entry entry = entries.compute(tradeId, (id, existing) ->
+                existing != null && existing.createdMillis > created.createdMillis - windowMillis
+                        && Objects.equals(existing.idempotencyKey, created.idempotencyKey)
+                        && (created.idempotencyKey != null || existing.fingerprint.equals(created.fingerprint))
+                        ? existing : created);
+
+        if (entry == created) {
+            evict(created.createdMillis);
+            return created;
+        }
+        if (!entry.fingerprint.equals(created.fingerprint)) {
+            throw new IdempotencyKeyConflictException(tradeId, created.idempotencyKey);
+        }
+        hits.increment();
+        return entry;
+    }
+
+    private void evict(long now) {
+        if (entries.size() <= maxEntries || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.entrySet().removeIf(e -> e.getValue().createdMillis <= now - windowMillis);
+
+            // Evict down to 90% of the maximum so the sort below runs once per many inserts, not on every one.
+            long excess = entries.size() - maxEntries + maxEntries / 10;
+            if (excess > 0) {
+                entries.entrySet().stream()
+                        .sorted(Comparator.comparingLong(e -> e.getValue().createdMillis))
+                        .limit(excess)
+                        .toList()
+                        .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String fingerprint(Trade trade) {
+        return trade.getVersion() + "|" + trade.getCounterParty() + "|" + trade.getBookId() + "|"
+                + trade.getMaturityDate() + "|" + trade.getCreatedDate() + "|" + trade.getExpiredFlag();
+    }
+
+    /**
+     * The result of the latest request of a trade.
+     */
+    private static final class Entry {
+
+        private final String idempotencyKey;
+
+        private final String fingerprint;
+
+        private final long createdMillis;
+
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private Entry(String idempotencyKey, String fingerprint, long createdMillis) {
+            this.idempotencyKey = idempotencyKey;
+            this.fingerprint = fingerprint;
+            this.createdMillis = createdMillis;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeExportResult;
+import com.db.tradestore.repository.TradeBulkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A service for exporting the active book in a streaming format.
+ *
+ * Only trades in the active store are exported; expired trades already moved to the
+ * archive by {@link TradeArchiveService} are not.
+ *
+ * Trades are read from the store one keyset page at a time and each page is encoded
+ * and written before the next one is read, so memory use depends on the page size
+ * only, not on the size of the book. When compression is requested every page is
+ * written as a complete gzip member; concatenated members form a valid gzip file,
+ * which lets a file export be cut and resumed at any page boundary.
+ */
+@Service
+public class TradeExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeExportService.class);
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * The supported export formats.
+     */
+    public enum Format {
+        /**
+         * The CSV format read by the bulk import.
+         */
+        CSV,
+        /**
+         * One JSON trade per line.
+         */
+        NDJSON;
+
+        /**
+         * Parses a format name, ignoring case.
+         *
+         * @param name The format name.
+         * @return The matching Format.
+         */
+        public static Format of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    @Autowired
+    TradeBulkRepository tradeBulkRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${trade.export.page-size:10000}")
+    int pageSize;
+
+    @Value("${trade.export.dir:/data/export}")
+    String exportDir;
+
+    /**
+     * Resolves a file name sent by a client inside the export directory.
+     *
+     * @param file The file name, relative to the export directory.
+     * @return The path of the export file.
+     * @throws IllegalArgumentException If the file is outside the export directory.
+     */
+    public Path resolveExportFile(String file) {
+        return TradeFiles.resolve(exportDir, file);
+    }
+
+    /**
+     * Streams trades to an output stream.
+     *
+     * @param out          The stream to write to; it is flushed after every page but not closed.
+     * @param afterTradeId The trade ID to resume after; an empty string exports the whole book.
+     * @param format       The export format.
+     * @param gzip         Whether to gzip the output.
+     * @return TradeExportResult with the counts of the export.
+     * @throws IOException If the stream cannot be written.
+     */
+    public TradeExportResult export(OutputStream out, String afterTradeId, Format format, boolean gzip)
+            throws IOException {
+        long start = System.nanoTime();
+        long trades = 0;
+        long bytes = 0;
+        String lastTradeId = afterTradeId;
+
+        List<Trade> page;
+        while (!(page = tradeBulkRepository.findPage(lastTradeId, pageSize)).isEmpty()) {
+            byte[] encoded = encodePage(page, format, gzip);
+            out.write(encoded);
+            out.flush();
+
+            trades += page.size();
+            bytes += encoded.length;
+            lastTradeId = page.get(page.size() - 1).getTradeId();
+        }
+
+        TradeExportResult result = new TradeExportResult(trades, bytes, lastTradeId, !afterTradeId.isEmpty(),
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Trade export to stream completed: {}", result);
+        return result;
+    }
+
+    /**
+     * Exports trades to a file, resuming from the checkpoint of an interrupted run.
+     *
+     * After every page the file position, the export settings and the last trade ID
+     * written are recorded in a checkpoint file next to the export. If the checkpoint
+     * exists when the export starts, the file is truncated to the recorded position and
+     * the export continues after the recorded trade ID. The checkpoint is replaced
+     * atomically, so a crash leaves either the previous or the new checkpoint, never a
+     * partly written one. The checkpoint is removed on completion. An existing file
+     * without a checkpoint is never overwritten.
+     *
+     * @param path   The path of the export file.
+     * @param format The export format.
+     * @param gzip   Whether to gzip the output.
+     * @return TradeExportResult with the counts of the export.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If the file exists without a checkpoint, or the checkpoint has other settings.
+     */
+    public TradeExportResult exportToFile(Path path, Format format, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        Path checkpoint = path.resolveSibling(path.getFileName() + CHECKPOINT_SUFFIX);
+
+        long position = 0;
+        String lastTradeId = "";
+        boolean resumed = Files.exists(checkpoint);
+        if (resumed) {
+            String[] fields = Files.readString(checkpoint, StandardCharsets.UTF_8).split("\t", 4);
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Unreadable export checkpoint: " + checkpoint);
+            }
+            if (Format.of(fields[1]) != format || Boolean.parseBoolean(fields[2]) != gzip) {
+                throw new IllegalArgumentException("Export to " + path.getFileName() + " was started as " + fields[1]
+                        + (Boolean.parseBoolean(fields[2]) ? " with gzip" : " without gzip")
+                        + " and cannot be resumed with other settings");
+            }
+            position = Long.parseLong(fields[0]);
+            lastTradeId = fields[3];
+            log.info("Resuming trade export to {} after Trade ID: {}", path, lastTradeId);
+        } else if (Files.exists(path)) {
+            throw new IllegalArgumentException("Export file already exists: " + path.getFileName());
+        }
+
+        long trades = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                resumed ? StandardOpenOption.CREATE : StandardOpenOption.CREATE_NEW)) {
+            channel.truncate(position);
+            channel.position(position);
+
+            List<Trade> page;
+            while (!(page = tradeBulkRepository.findPage(lastTradeId, pageSize)).isEmpty()) {
+                ByteBuffer buffer = ByteBuffer.wrap(encodePage(page, format, gzip));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+
+                trades += page.size();
+                lastTradeId = page.get(page.size() - 1).getTradeId();
+                writeCheckpoint(checkpoint, channel.position() + "\t" + format + "\t" + gzip + "\t" + lastTradeId);
+            }
+
+            TradeExportResult result = new TradeExportResult(trades, channel.position() - position, lastTradeId,
+                    resumed, (System.nanoTime() - start) / 1_000_000);
+            Files.deleteIfExists(checkpoint);
+            log.info("Trade export to {} completed: {}", path, result);
+            return result;
+        }
+    }
+
+    private static void writeCheckpoint(Path checkpoint, String content) throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private byte[] encodePage(List<Trade> page, Format format, boolean gzip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(page.size() * 96);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 64 * 1024) : bytes) {
+            for (Trade trade : page) {
+                if (format == Format.NDJSON) {
+                    out.write(objectMapper.writeValueAsBytes(trade));
+                    out.write('\n');
+                } else {
+                    out.write(toCsv(trade).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Formats a trade as a record in the bulk import CSV format.
+     *
+     * Text fields are quoted as in RFC 4180 when they contain a comma, a quote, a line
+     * break or surrounding spaces, or are empty; a null text field is written as an
+     * empty unquoted field.
+     *
+     * @param trade The Trade object to format.
+     * @return The CSV record, terminated by a line feed.
+     */
+    static String toCsv(Trade trade) {
+        return csvText(trade.getTradeId()) + ',' + trade.getVersion() + ',' + csvText(trade.getCounterParty()) + ','
+                + csvText(trade.getBookId()) + ',' + trade.getMaturityDate() + ','
+                + (trade.getCreatedDate() == null ? "" : trade.getCreatedDate()) + ','
+                + csvText(trade.getExpiredFlag()) + '\n';
+    }
+
+    private static String csvText(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.isEmpty() || value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' '
+                || value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
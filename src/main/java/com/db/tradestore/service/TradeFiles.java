@@ -0,0 +1,51 @@
+package com.db.tradestore.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Resolves file names sent by clients against a configured server directory.
+ */
+final class TradeFiles {
+
+    private TradeFiles() {
+    }
+
+    /**
+     * Resolves a file name inside a base directory.
+     *
+     * Names that resolve outside the directory, including through symbolic links, are
+     * rejected, so a caller can only reach files under the directory.
+     *
+     * @param baseDir The configured base directory.
+     * @param file    The file name sent by the client, relative to the base directory.
+     * @return The resolved path.
+     * @throws IllegalArgumentException If the file resolves outside the base directory.
+     */
+    static Path resolve(String baseDir, String file) {
+        try {
+            Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+            if (Files.exists(base)) {
+                base = base.toRealPath();
+            }
+
+            Path path = base.resolve(file).normalize();
+            Path checked = path;
+            if (Files.exists(path)) {
+                checked = path.toRealPath();
+            } else if (path.getParent() != null && Files.exists(path.getParent())) {
+                // A file to be created is checked through its directory.
+                checked = path.getParent().toRealPath().resolve(path.getFileName());
+            }
+            if (!checked.startsWith(base) || checked.equals(base)) {
+                throw new IllegalArgumentException("File is outside of " + baseDir + ": " + file);
+            }
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.importer.TradeFileParser;
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.repository.TradeBulkRepository;
+import com.db.tradestore.validation.TradeValidationContext;
+import com.db.tradestore.validation.TradeValidationEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A service for bulk importing trade files.
+ *
+ * The file is split into line-aligned chunks which are memory-mapped and parsed in
+ * parallel. Each chunk is validated and written in batches: the state needed by the
+ * validation rules is fetched once per batch, the same rule chain as POST /trade is
+ * applied in memory and the accepted trades are written with a single JDBC batch.
+ */
+@Service
+public class TradeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeImportService.class);
+
+    @Autowired
+    TradeValidationEngine tradeValidationEngine;
+
+    @Autowired
+    TradeBulkRepository tradeBulkRepository;
+
+    @Value("${trade.import.threads:0}")
+    int threads;
+
+    @Value("${trade.import.chunk-size:67108864}")
+    long chunkSize;
+
+    @Value("${trade.import.batch-size:5000}")
+    int batchSize;
+
+    @Value("${trade.import.dir:/data/import}")
+    String importDir;
+
+    /**
+     * Resolves a file name sent by a client inside the import directory.
+     *
+     * @param file The file name, relative to the import directory.
+     * @return The path of the file.
+     * @throws IllegalArgumentException If the file is outside the import directory or not readable.
+     */
+    public Path resolveImportFile(String file) {
+        Path path = TradeFiles.resolve(importDir, file);
+        if (!Files.isReadable(path)) {
+            throw new IllegalArgumentException("Trade file is not readable: " + file);
+        }
+        return path;
+    }
+
+    /**
+     * Imports a trade CSV file.
+     *
+     * @param path     The path of the file to import.
+     * @param validate Whether to apply the trade validation rules; snapshot restores skip them.
+     * @return TradeImportResult with the counts and throughput of the import.
+     * @throws IOException If the file cannot be read.
+     */
+    public TradeImportResult importFile(Path path, boolean validate) throws IOException {
+        log.info("Importing trades from file: {}", path);
+        long start = System.nanoTime();
+
+        AtomicLong rowsRead = new AtomicLong();
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong malformed = new AtomicLong();
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long[] chunk : TradeFileParser.split(channel, chunkSize)) {
+                futures.add(executor.submit(() -> {
+                    TradeFileParser parser;
+                    try {
+                        parser = new TradeFileParser(TradeFileParser.map(channel, chunk));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+
+                    LocalDate currentDate = LocalDate.now();
+                    Map<String, Trade> batch = new LinkedHashMap<>();
+                    Trade trade;
+                    while ((trade = parser.next()) != null) {
+                        rowsRead.incrementAndGet();
+
+                        // Within a batch only the highest version of a trade is kept.
+                        Trade previous = batch.get(trade.getTradeId());
+                        if (previous != null && previous.getVersion() > trade.getVersion()) {
+                            rejected.incrementAndGet();
+                            continue;
+                        }
+                        if (previous != null) {
+                            rejected.incrementAndGet();
+                        }
+                        batch.put(trade.getTradeId(), trade);
+
+                        if (batch.size() >= batchSize) {
+                            flush(batch, validate, currentDate, accepted, rejected);
+                        }
+                    }
+                    flush(batch, validate, currentDate, accepted, rejected);
+                    malformed.addAndGet(parser.getMalformedCount());
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Trade import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("Trade import failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TradeImportResult result = new TradeImportResult(rowsRead.get(), accepted.get(), rejected.get(),
+                malformed.get(), (System.nanoTime() - start) / 1_000_000);
+        log.info("Trade import completed: {}", result);
+        return result;
+    }
+
+    private void flush(Map<String, Trade> batch, boolean validate, LocalDate currentDate,
+                       AtomicLong accepted, AtomicLong rejected) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Trade> valid = new ArrayList<>(batch.size());
+        TradeValidationContext context = validate ? tradeValidationEngine.prepare(batch.values()) : null;
+        for (Trade trade : batch.values()) {
+            if (!validate || tradeValidationEngine.validate(trade, context)) {
+                if (trade.getCreatedDate() == null) {
+                    trade.setCreatedDate(currentDate);
+                }
+                valid.add(trade);
+            }
+        }
+
+        // Trades skipped by the version guard of the merge lost a race with another chunk.
+        int written = tradeBulkRepository.mergeAll(valid);
+        accepted.addAndGet(written);
+        rejected.addAndGet(batch.size() - written);
+        batch.clear();
+    }
+}
@@ -7,11 +7,13 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.db.tradestore.dao.TradeDao;
 import com.db.tradestore.model.Trade;
 import com.db.tradestore.repository.TradeRepository;
+import com.db.tradestore.validation.TradeValidationEngine;
 
 @Service
 public class TradeService {
@@ -25,12 +27,21 @@ public class TradeService {
     @Autowired
     TradeRepository tradeRepository;
 
+    @Autowired
+    TradeValidationEngine tradeValidationEngine;
+
+    @Autowired
+    TradeArchiveService tradeArchiveService;
+
+    @Value("${trade.archive.enabled:true}")
+    boolean archiveEnabled;
+
     /**
      * Validates whether a trade is valid for processing.
      *
-     * This method performs validation checks on the provided trade, including
-     * maturity date validation and version validation against an existing trade
-     * (if it exists in the repository).
+     * This method runs the provided trade through the configured validation rule
+     * chain, which by default performs the maturity date validation and the version
+     * validation against an existing trade (if it exists in the repository).
      *
      * @param trade The Trade object to be validated.
      * @return true if the trade is valid; false otherwise.
@@ -38,78 +49,10 @@ public class TradeService {
     public boolean isValid(Trade trade) {
         log.info("Validating trade with ID: {}", trade.getTradeId());
 
-        if (validateMaturityDate(trade)) {
-            log.info("Maturity date validation passed.");
-            
-            Optional<Trade> existingTrade = tradeRepository.findById(trade.getTradeId());
-
-            if (existingTrade.isPresent()) {
-                log.info("Existing trade found in the repository. Performing version validation.");
-                boolean versionValidationResult = validateVersion(trade, existingTrade.get());
-                log.info("Version validation result: {}", versionValidationResult);
-                return versionValidationResult;
-            } else {
-                log.info("No existing trade found in the repository. Trade is valid.");
-                return true;
-            }
-        }
-
-        log.info("Maturity date validation failed. Returning false.");
-        return false;
-    }
-
-
-    /**
-     * Validates the version of a trade.
-     *
-     * This method checks if the version of the new trade is greater than or equal to
-     * the version of the existing (old) trade. If the version is valid, it returns true;
-     * otherwise, it returns false.
-     *
-     * @param trade The new Trade object.
-     * @param oldTrade The existing (old) Trade object.
-     * @return true if the version is valid; false otherwise.
-     */
-    private boolean validateVersion(Trade trade, Trade oldTrade) {
-        log.info("Validating trade version for Trade ID: {}", trade.getTradeId());
-
-        if (trade.getVersion() >= oldTrade.getVersion()) {
-            log.info("Version validation passed. New version: {}, Old version: {}", trade.getVersion(), oldTrade.getVersion());
-            return true;
-        } else {
-            log.warn("Version validation failed. New version: {} is lower than Old version: {}", trade.getVersion(), oldTrade.getVersion());
-            return false;
-        }
-    }
-
-
-    
-    /**
-     * Validates the maturity date of a trade.
-     *
-     * This method checks if the maturity date of the trade is before the current date.
-     * If the maturity date is valid, it returns true; otherwise, it returns false.
-     *
-     * @param trade The Trade object to be validated.
-     * @return true if the maturity date is valid; false otherwise.
-     */
-    private boolean validateMaturityDate(Trade trade) {
-        LocalDate maturityDate = trade.getMaturityDate();
-        LocalDate currentDate = LocalDate.now();
-
-        log.info("Validating maturity date for Trade ID: {}. Maturity Date: {}, Current Date: {}",
-                 trade.getTradeId(), maturityDate, currentDate);
+        boolean validationResult = tradeValidationEngine.validate(trade);
 
-        boolean isValid = currentDate.isBefore(maturityDate);
-
-        if (isValid) {
-            log.info("Maturity date validation passed.");
-        } else {
-            log.warn("Maturity date validation failed. Maturity Date: {} is not before Current Date: {}",
-                     maturityDate, currentDate);
-        }
-
-        return isValid;
+        log.info("Validation result for Trade ID: {}: {}", trade.getTradeId(), validationResult);
+        return validationResult;
     }
 
 
@@ -159,55 +102,54 @@ public class TradeService {
 
 
     /**
-     * Updates the expiry flag of trades based on their maturity dates.
+     * Finds a trade by its trade ID.
      *
-     * This method retrieves all trades from the repository, checks their maturity dates,
-     * and updates the expiry flag accordingly. Trades with maturity dates in the past
-     * will have their expiry flag set to "Y", and a log message will be generated.
+     * This method looks the trade up in the active store first and falls back to
+     * the archive for trades that have expired and been moved to the cold tier.
+     *
+     * @param tradeId The trade ID to search for.
+     * @return The Trade object if found; otherwise, empty.
      */
-    public void updateExpiryFlagOfTrade() {
-        log.info("Updating expiry flags of trades based on maturity dates.");
+    public Optional<Trade> findTrade(String tradeId) {
+        log.info("Finding trade with ID: {}", tradeId);
 
-        tradeRepository.findAll().forEach(trade -> {
-            if (!validateMaturityExpiry(trade)) {
-                trade.setExpiredFlag("Y");
-                log.info("Updated expiry flag for Trade ID: {}. New expiry flag: Y", trade.getTradeId());
-
-                // Save the updated trade
-                tradeRepository.save(trade);
-            }
-        });
+        Optional<Trade> trade = tradeRepository.findById(tradeId);
+        if (trade.isEmpty()) {
+            trade = tradeArchiveService.findArchivedTrade(tradeId);
+        }
 
-        log.info("Expiry flag update process completed.");
+        return trade;
     }
-    
+
+
     /**
-     * Validates the maturity date of a trade.
-     *
-     * This method checks if the maturity date of the trade is before the current date.
-     * If the maturity date is valid, it returns true; otherwise, it returns false.
+     * Updates the expiry flag of trades based on their maturity dates.
      *
-     * @param trade The Trade object to be validated.
-     * @return true if the maturity date is valid; false otherwise.
+     * This method retrieves the trades whose maturity date is not after the current
+     * date through the maturity date index, so the sweep only reads the trades that
+     * expire rather than the whole book. The expired trades have their expiry flag
+     * set to "Y" and are moved to the archive, or updated in place when archiving is
+     * disabled. Trades amended since they were read are left in the active store.
      */
-    private boolean validateMaturityExpiry(Trade trade) {
-        LocalDate maturityDate = trade.getMaturityDate();
-        LocalDate currentDate = LocalDate.now();
-
-        log.info("Validating maturity date for Trade ID: {}. Maturity Date: {}, Current Date: {}",
-                 trade.getTradeId(), maturityDate, currentDate);
+    public void updateExpiryFlagOfTrade() {
+        log.info("Updating expiry flags of trades based on maturity dates.");
 
-        boolean isValid = currentDate.isBefore(maturityDate);
+        LocalDate currentDate = LocalDate.now();
+        List<Trade> expired = tradeRepository.findByMaturityDateLessThanEqual(currentDate);
+        expired.forEach(trade -> {
+            trade.setExpiredFlag("Y");
+            log.debug("Updated expiry flag for Trade ID: {}. New expiry flag: Y", trade.getTradeId());
+        });
 
-        if (isValid) {
-            log.info("Maturity date validation passed.");
+        if (expired.isEmpty()) {
+            log.info("No expired trades found.");
+        } else if (archiveEnabled) {
+            int archived = tradeArchiveService.archive(expired, currentDate);
+            log.info("Archived {} of {} expired trades.", archived, expired.size());
         } else {
-            log.warn("Maturity date validation failed. Maturity Date: {} is not before Current Date: {}",
-                     maturityDate, currentDate);
+            tradeRepository.saveAll(expired);
         }
 
-        return isValid;
+        log.info("Expiry flag update process completed. {} trades expired.", expired.size());
     }
-    
-
 }
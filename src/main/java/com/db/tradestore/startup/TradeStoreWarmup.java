@@ -0,0 +1,258 @@
+package com.db.tradestore.startup;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.repository.TradeBulkRepository;
+import com.db.tradestore.repository.TradeRepository;
+import com.db.tradestore.service.TradeImportService;
+import com.db.tradestore.service.TradeService;
+import com.db.tradestore.validation.TradeValidationContext;
+import com.db.tradestore.validation.TradeValidationEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Prepares the trade store before the application reports itself ready.
+ *
+ * Spring Boot publishes the ACCEPTING_TRAFFIC readiness state only after every
+ * ApplicationRunner has completed, so the preload and warm-up performed here run
+ * before the first POST /trade is routed to this instance.
+ *
+ * The read path and validation/persist warm-up exercise the JPA and JDBC path served
+ * by the Spring MVC endpoints. With the reactive profile requests are served through
+ * R2DBC instead, so only the preload runs.
+ */
+@Component
+public class TradeStoreWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeStoreWarmup.class);
+
+    private static final String WARMUP_TRADE_PREFIX = "WARMUP-";
+
+    @Autowired
+    TradeService tradeService;
+
+    @Autowired
+    TradeImportService tradeImportService;
+
+    @Autowired
+    TradeRepository tradeRepository;
+
+    @Autowired
+    TradeBulkRepository tradeBulkRepository;
+
+    @Autowired
+    TradeValidationEngine tradeValidationEngine;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationContext applicationContext;
+
+    @Autowired
+    Environment environment;
+
+    @Value("${trade.preload.enabled:true}")
+    boolean preloadEnabled;
+
+    @Value("${trade.preload.file:}")
+    String preloadFile;
+
+    @Value("${trade.preload.read-path-sample-size:1000}")
+    int readPathSampleSize;
+
+    @Value("${trade.warmup.enabled:true}")
+    boolean warmupEnabled;
+
+    @Value("${trade.warmup.max-rounds:20}")
+    int warmupMaxRounds;
+
+    @Value("${trade.warmup.iterations:50}")
+    int warmupIterations;
+
+    @Value("${trade.warmup.steady-tolerance:0.25}")
+    double steadyTolerance;
+
+    @Value("${trade.startup.exit-after-warmup:false}")
+    boolean exitAfterWarmup;
+
+    private long runnerStartNanos;
+
+    private long warmupSettledMillis = -1;
+
+    /**
+     * Preloads the store and, unless the reactive profile is active, warms up the read and validation/persist paths.
+     *
+     * @param args The application arguments.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        runnerStartNanos = System.nanoTime();
+        boolean reactive = environment.acceptsProfiles(Profiles.of("reactive"));
+        if (reactive && (preloadEnabled || warmupEnabled)) {
+            log.info("Reactive profile is active; skipping the warm-up of the JPA ingest path it does not use.");
+        }
+
+        if (preloadEnabled) {
+            preloadFromFile();
+            if (!reactive) {
+                warmReadPath();
+            }
+        }
+
+        if (warmupEnabled && !reactive) {
+            warmUp();
+        }
+
+        if (exitAfterWarmup) {
+            // Training run for the CDS archive: the JVM dumps the archive on exit.
+            log.info("Warm-up completed, exiting as requested by trade.startup.exit-after-warmup.");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Reports the time to ready once the application has started.
+     *
+     * The warm-up settle time is measured on the synthetic warm-up loop only, from the
+     * start of the preload to the round in which its p99 settled; it is -1 if the loop
+     * did not settle or was disabled. It does not describe latency of real traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportTimeToReady() {
+        log.info("Trade store ready. Time to ready: {} ms (JVM uptime), warm-up loop settled after: {} ms",
+                ManagementFactory.getRuntimeMXBean().getUptime(), warmupSettledMillis);
+    }
+
+    /**
+     * Bulk-loads trades from the configured snapshot file into the repository.
+     *
+     * The file is a CSV in the import format of {@link TradeImportService}. It is a
+     * snapshot of the store, so trades are restored as they are without validation.
+     */
+    private void preloadFromFile() throws IOException {
+        if (preloadFile == null || preloadFile.isBlank()) {
+            return;
+        }
+
+        tradeImportService.importFile(Paths.get(preloadFile), false);
+    }
+
+    /**
+     * Runs the read queries of the ingest path against the stored book.
+     *
+     * The version and counterparty prefetch queries used by the validation rules and
+     * the entity lookup by ID are executed once over the first page of stored trades,
+     * so their statements, the Hibernate metadata and the touched rows are prepared
+     * with real data before the first request arrives.
+     */
+    private void warmReadPath() {
+        long start = System.nanoTime();
+
+        List<Trade> trades = tradeBulkRepository.findPage("", readPathSampleSize);
+        if (!trades.isEmpty()) {
+            tradeBulkRepository.findVersions(trades.stream().map(Trade::getTradeId).collect(Collectors.toSet()));
+            tradeBulkRepository.countLiveTradesByCounterParty(
+                    trades.stream().map(Trade::getCounterParty).collect(Collectors.toSet()));
+            tradeRepository.findById(trades.get(0).getTradeId());
+        }
+
+        log.info("Warmed the read path over {} stored trades in {} ms", trades.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Runs synthetic trades through the validation and persist path until p99 latency is steady.
+     *
+     * Each round validates and persists a batch of new trades and then re-validates them,
+     * which exercises both the "no existing trade" and the version check branches. The
+     * p99 latency is considered steady once it moves less than the configured tolerance
+     * between two rounds.
+     *
+     * All rounds run in one transaction that is always rolled back, so the synthetic
+     * trades are flushed to the database but never committed, and they cannot be left
+     * in the book if the process dies. Their validations are kept out of the rule
+     * metrics that order the validation chain.
+     */
+    private void warmUp() {
+        log.info("Warming up the validation/persist path.");
+
+        int rounds = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+
+            long previousP99 = -1;
+            int round = 0;
+            while (round < warmupMaxRounds) {
+                long[] latencies = new long[warmupIterations];
+
+                for (int i = 0; i < warmupIterations; i++) {
+                    Trade trade = createWarmupTrade(round, i);
+
+                    long start = System.nanoTime();
+                    if (validate(trade)) {
+                        tradeService.persist(trade);
+                        tradeRepository.flush();
+                    }
+                    validate(trade);
+                    latencies[i] = System.nanoTime() - start;
+                }
+
+                Arrays.sort(latencies);
+                long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+                log.info("Warm-up round {}: p99 {} us", round, p99 / 1_000);
+                round++;
+
+                if (previousP99 > 0 && Math.abs(p99 - previousP99) <= previousP99 * steadyTolerance) {
+                    warmupSettledMillis = (System.nanoTime() - runnerStartNanos) / 1_000_000;
+                    break;
+                }
+                previousP99 = p99;
+            }
+            return round;
+        });
+
+        if (warmupSettledMillis < 0) {
+            log.warn("Warm-up p99 latency did not settle within {} rounds.", warmupMaxRounds);
+        } else {
+            log.info("Warm-up p99 latency settled after {} rounds, {} ms after preload started.", rounds,
+                    warmupSettledMillis);
+        }
+    }
+
+    private boolean validate(Trade trade) {
+        TradeValidationContext context = new TradeValidationContext(LocalDate.now());
+        context.setStatsRecorded(false);
+        return tradeValidationEngine.validate(trade, tradeValidationEngine.prepare(List.of(trade), context));
+    }
+
+    private Trade createWarmupTrade(int round, int index) {
+        Trade trade = new Trade();
+        trade.setTradeId(WARMUP_TRADE_PREFIX + round + "-" + index);
+        trade.setVersion(1);
+        trade.setCounterParty("WARMUP-CP");
+        trade.setBookId("WARMUP-B");
+        trade.setMaturityDate(LocalDate.now().plusDays(1));
+        trade.setExpiredFlag("N");
+        return trade;
+    }
+}
@@ -0,0 +1,27 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Rejects trades booked outside the configured book whitelist.
+ */
+@Component
+public class BookWhitelistRule implements TradeValidationRule {
+
+    @Value("${trade.validation.book-whitelist:}")
+    Set<String> bookWhitelist;
+
+    @Override
+    public String getName() {
+        return "bookWhitelist";
+    }
+
+    @Override
+    public boolean test(Trade trade, TradeValidationContext context) {
+        return bookWhitelist.contains(trade.getBookId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.repository.TradeBulkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects new trades for a counterparty that already holds the configured maximum of live trades.
+ *
+ * Amendments of a stored trade do not add a trade and are always allowed.
+ */
+@Component
+public class CounterPartyLimitRule implements TradeValidationRule {
+
+    @Autowired
+    TradeBulkRepository tradeBulkRepository;
+
+    @Value("${trade.validation.counterparty-limit:1000000}")
+    int counterPartyLimit;
+
+    /**
+     * The name of the rule.
+     */
+    public static final String NAME = "counterPartyLimit";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void prefetch(Collection<Trade> trades, TradeValidationContext context) {
+        if (!context.isExistingVersionsLoaded()) {
+            context.putExistingVersions(tradeBulkRepository.findVersions(
+                    trades.stream().map(Trade::getTradeId).collect(Collectors.toSet())));
+        }
+        if (!context.isCounterPartyTradeCountsLoaded()) {
+            context.putCounterPartyTradeCounts(tradeBulkRepository.countLiveTradesByCounterParty(
+                    trades.stream().map(Trade::getCounterParty).collect(Collectors.toSet())));
+        }
+    }
+
+    @Override
+    public boolean test(Trade trade, TradeValidationContext context) {
+        return context.getExistingVersion(trade.getTradeId()) != null
+                || context.getCounterPartyTradeCount(trade.getCounterParty()) < counterPartyLimit;
+    }
+}
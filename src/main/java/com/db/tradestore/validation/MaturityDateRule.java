@@ -0,0 +1,21 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects trades whose maturity date is not after the current date.
+ */
+@Component
+public class MaturityDateRule implements TradeValidationRule {
+
+    @Override
+    public String getName() {
+        return "maturityDate";
+    }
+
+    @Override
+    public boolean test(Trade trade, TradeValidationContext context) {
+        return trade.getMaturityDate() != null && context.getCurrentDate().isBefore(trade.getMaturityDate());
+    }
+}
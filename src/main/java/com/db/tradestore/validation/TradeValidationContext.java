@@ -0,0 +1,134 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The state a batch of trades is validated against.
+ *
+ * A context is filled by the prefetch step of the enabled rules and then used for
+ * every trade of the batch. It is not thread-safe; use one context per batch.
+ */
+public class TradeValidationContext {
+
+    private final LocalDate currentDate;
+
+    private final Map<String, Integer> existingVersions = new HashMap<>();
+
+    private final Map<String, Integer> counterPartyTradeCounts = new HashMap<>();
+
+    private boolean existingVersionsLoaded;
+
+    private boolean counterPartyTradeCountsLoaded;
+
+    private boolean statsRecorded = true;
+
+    /**
+     * Constructs a TradeValidationContext.
+     *
+     * @param currentDate The date maturity dates are checked against.
+     */
+    public TradeValidationContext(LocalDate currentDate) {
+        this.currentDate = currentDate;
+    }
+
+    /**
+     * Gets the date maturity dates are checked against.
+     *
+     * @return The current date.
+     */
+    public LocalDate getCurrentDate() {
+        return currentDate;
+    }
+
+    /**
+     * Gets the stored version of a trade.
+     *
+     * @param tradeId The trade ID.
+     * @return The stored version, or null if the trade is not in the store.
+     */
+    public Integer getExistingVersion(String tradeId) {
+        return existingVersions.get(tradeId);
+    }
+
+    /**
+     * Adds the stored versions of trades.
+     *
+     * @param versions Map of trade ID to stored version.
+     */
+    public void putExistingVersions(Map<String, Integer> versions) {
+        existingVersions.putAll(versions);
+        existingVersionsLoaded = true;
+    }
+
+    /**
+     * Gets whether the stored versions of the batch have been fetched.
+     *
+     * @return true if a rule has already fetched the stored versions; false otherwise.
+     */
+    public boolean isExistingVersionsLoaded() {
+        return existingVersionsLoaded;
+    }
+
+    /**
+     * Gets the number of live trades of a counterparty.
+     *
+     * @param counterParty The counterparty.
+     * @return The number of live trades, including trades accepted earlier in the batch.
+     */
+    public int getCounterPartyTradeCount(String counterParty) {
+        return counterPartyTradeCounts.getOrDefault(counterParty, 0);
+    }
+
+    /**
+     * Adds the live trade counts of counterparties.
+     *
+     * @param counts Map of counterparty to number of live trades.
+     */
+    public void putCounterPartyTradeCounts(Map<String, Integer> counts) {
+        counterPartyTradeCounts.putAll(counts);
+        counterPartyTradeCountsLoaded = true;
+    }
+
+    /**
+     * Gets whether the live trade counts of the batch have been fetched.
+     *
+     * @return true if the counterparty trade counts have already been fetched; false otherwise.
+     */
+    public boolean isCounterPartyTradeCountsLoaded() {
+        return counterPartyTradeCountsLoaded;
+    }
+
+    /**
+     * Records a trade accepted earlier in the batch so later trades see it.
+     *
+     * @param trade The accepted Trade object.
+     */
+    public void recordAccepted(Trade trade) {
+        Integer previous = existingVersions.put(trade.getTradeId(), trade.getVersion());
+        if (previous == null) {
+            counterPartyTradeCounts.merge(trade.getCounterParty(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Gets whether rule evaluations against this context count towards the rule metrics.
+     *
+     * @return true if the evaluations are recorded; false for synthetic traffic.
+     */
+    public boolean isStatsRecorded() {
+        return statsRecorded;
+    }
+
+    /**
+     * Sets whether rule evaluations against this context count towards the rule metrics.
+     *
+     * @param statsRecorded false to keep synthetic traffic out of the metrics that order the chain.
+     */
+    public void setStatsRecorded(boolean statsRecorded) {
+        this.statsRecorded = statsRecorded;
+    }
+}
@@ -0,0 +1,202 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeValidationRuleStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Validates trades with the chain of rules enabled by configuration.
+ *
+ * The rules named in trade.validation.rules are compiled at startup into a fixed
+ * array that is evaluated in order and stops at the first rejecting rule. The chain
+ * is periodically re-ordered so that the rules rejecting most often run first. All
+ * state a rule needs is fetched once per batch, which lets single trades and bulk
+ * loads share the same chain.
+ */
+@Service
+public class TradeValidationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeValidationEngine.class);
+
+    @Autowired
+    List<TradeValidationRule> availableRules;
+
+    @Value("${trade.validation.rules:maturityDate,version}")
+    List<String> ruleNames;
+
+    private volatile CompiledRule[] chain;
+
+    /**
+     * Compiles the configured rules into the validation chain.
+     */
+    @PostConstruct
+    public void compile() {
+        Map<String, TradeValidationRule> rulesByName = availableRules.stream()
+                .collect(Collectors.toMap(TradeValidationRule::getName, Function.identity()));
+
+        chain = ruleNames.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> {
+                    TradeValidationRule rule = rulesByName.get(name);
+                    if (rule == null) {
+                        throw new IllegalStateException("Unknown trade validation rule: " + name);
+                    }
+                    return new CompiledRule(rule);
+                })
+                .toArray(CompiledRule[]::new);
+
+        log.info("Compiled trade validation chain: {}", ruleOrder(chain));
+    }
+
+    /**
+     * Fetches the state the rules need to validate a batch of trades.
+     *
+     * @param trades The trades about to be validated.
+     * @return TradeValidationContext to validate the batch against.
+     */
+    public TradeValidationContext prepare(Collection<Trade> trades) {
+        return prepare(trades, new TradeValidationContext(LocalDate.now()));
+    }
+
+    /**
+     * Fetches the state the rules need into a context that may already hold part of it.
+     *
+     * Rules skip state that has already been loaded, which lets callers such as the
+     * reactive stack fetch it without blocking beforehand.
+     *
+     * @param trades  The trades about to be validated.
+     * @param context The context to complete.
+     * @return The completed context.
+     */
+    public TradeValidationContext prepare(Collection<Trade> trades, TradeValidationContext context) {
+        for (CompiledRule compiled : chain) {
+            long start = System.nanoTime();
+            compiled.rule.prefetch(trades, context);
+            if (context.isStatsRecorded()) {
+                compiled.prefetchNanos.add(System.nanoTime() - start);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Gets whether a rule is part of the chain.
+     *
+     * @param name The rule name.
+     * @return true if the rule is enabled; false otherwise.
+     */
+    public boolean isRuleEnabled(String name) {
+        return Arrays.stream(chain).anyMatch(compiled -> compiled.rule.getName().equals(name));
+    }
+
+    /**
+     * Validates a single trade.
+     *
+     * @param trade The Trade object to be validated.
+     * @return true if the trade passes every rule; false otherwise.
+     */
+    public boolean validate(Trade trade) {
+        return validate(trade, prepare(List.of(trade)));
+    }
+
+    /**
+     * Validates a trade of a prepared batch.
+     *
+     * Accepted trades are recorded in the context, so a later trade of the same batch
+     * is validated as if the earlier one had already been stored.
+     *
+     * @param trade   The Trade object to be validated.
+     * @param context The context returned by {@link #prepare(Collection)} for the batch.
+     * @return true if the trade passes every rule; false otherwise.
+     */
+    public boolean validate(Trade trade, TradeValidationContext context) {
+        for (CompiledRule compiled : chain) {
+            long start = System.nanoTime();
+            boolean passed = compiled.rule.test(trade, context);
+            if (context.isStatsRecorded()) {
+                compiled.nanos.add(System.nanoTime() - start);
+                compiled.evaluated.increment();
+                if (!passed) {
+                    compiled.rejected.increment();
+                }
+            }
+
+            if (!passed) {
+                log.debug("Trade ID: {} rejected by rule: {}", trade.getTradeId(), compiled.rule.getName());
+                return false;
+            }
+        }
+        context.recordAccepted(trade);
+        return true;
+    }
+
+    /**
+     * Re-orders the chain so that rules with the highest observed reject rate run first.
+     */
+    public void reorder() {
+        CompiledRule[] reordered = chain.clone();
+        Arrays.sort(reordered, Comparator.comparingDouble(CompiledRule::rejectRate).reversed());
+
+        if (!Arrays.equals(reordered, chain)) {
+            chain = reordered;
+            log.info("Re-ordered trade validation chain: {}", ruleOrder(reordered));
+        }
+    }
+
+    /**
+     * Gets the metrics of every rule in the chain, in evaluation order.
+     *
+     * @return List<TradeValidationRuleStats> containing one entry per rule.
+     */
+    public List<TradeValidationRuleStats> getRuleStats() {
+        return Arrays.stream(chain)
+                .map(compiled -> new TradeValidationRuleStats(compiled.rule.getName(), compiled.evaluated.sum(),
+                        compiled.rejected.sum(), compiled.nanos.sum(), compiled.prefetchNanos.sum()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> ruleOrder(CompiledRule[] rules) {
+        return Arrays.stream(rules).map(compiled -> compiled.rule.getName()).collect(Collectors.toList());
+    }
+
+    /**
+     * A rule of the chain together with its metrics.
+     */
+    private static final class CompiledRule {
+
+        private final TradeValidationRule rule;
+
+        private final LongAdder evaluated = new LongAdder();
+
+        private final LongAdder rejected = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private final LongAdder prefetchNanos = new LongAdder();
+
+        private CompiledRule(TradeValidationRule rule) {
+            this.rule = rule;
+        }
+
+        private double rejectRate() {
+            long count = evaluated.sum();
+            return count == 0 ? 0 : (double) rejected.sum() / count;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+
+import java.util.Collection;
+
+/**
+ * A single trade validation rule.
+ *
+ * Rules are Spring beans selected by name through the trade.validation.rules
+ * property. A rule must not query the store while testing a trade; any state it
+ * needs is fetched once per batch in {@link #prefetch(Collection, TradeValidationContext)}.
+ */
+public interface TradeValidationRule {
+
+    /**
+     * Gets the name used to enable the rule in configuration.
+     *
+     * @return The rule name.
+     */
+    String getName();
+
+    /**
+     * Fetches the state the rule needs for a batch of trades into the context.
+     *
+     * @param trades  The trades about to be validated.
+     * @param context The context shared by all rules for the batch.
+     */
+    default void prefetch(Collection<Trade> trades, TradeValidationContext context) {
+    }
+
+    /**
+     * Tests a trade against the rule.
+     *
+     * @param trade   The Trade object to be validated.
+     * @param context The context holding the pre-fetched state.
+     * @return true if the trade passes the rule; false otherwise.
+     */
+    boolean test(Trade trade, TradeValidationContext context);
+}
@@ -0,0 +1,40 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.repository.TradeBulkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects trades whose version is lower than the version already stored.
+ *
+ * A trade with the same version as the stored one replaces it.
+ */
+@Component
+public class VersionRule implements TradeValidationRule {
+
+    @Autowired
+    TradeBulkRepository tradeBulkRepository;
+
+    @Override
+    public String getName() {
+        return "version";
+    }
+
+    @Override
+    public void prefetch(Collection<Trade> trades, TradeValidationContext context) {
+        if (!context.isExistingVersionsLoaded()) {
+            context.putExistingVersions(tradeBulkRepository.findVersions(
+                    trades.stream().map(Trade::getTradeId).collect(Collectors.toSet())));
+        }
+    }
+
+    @Override
+    public boolean test(Trade trade, TradeValidationContext context) {
+        Integer existingVersion = context.getExistingVersion(trade.getTradeId());
+        return existingVersion == null || trade.getVersion() >= existingVersion;
+    }
+}
@@ -3,6 +3,7 @@ package com.db.tradestore;
 import com.db.tradestore.controller.TradeController;
 import com.db.tradestore.exception.InvalidTradeException;
 import com.db.tradestore.model.Trade;
+import com.db.tradestore.repository.TradeRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,7 +37,7 @@ public class TradeStoreApplicationTests {
 		log.info("Starting testTradeValidateAndStore_successful...");
 
 		ResponseEntity responseEntity = tradeController
-				.validateAndStoreTrade(createTrade("T1", 1, getLocalDate(2024, 05, 21)));
+				.validateAndStoreTrade(createTrade("T1", 1, getLocalDate(2024, 05, 21)), null);
 		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), responseEntity);
 
 		List<Trade> tradeList = tradeController.findAllTrades();
@@ -52,7 +53,7 @@ public class TradeStoreApplicationTests {
 
 		try {
 			LocalDate localDate = getLocalDate(2024, 05, 21);
-			ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("T2", 1, localDate));
+			ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("T2", 1, localDate), null);
 		} catch (InvalidTradeException ie) {
 			Assertions.assertEquals("Invalid Trade: T2  Trade Id is not found", ie.getMessage());
 		}
@@ -64,7 +65,7 @@ public class TradeStoreApplicationTests {
 	void testTradeValidateAndStoreWhenOldVersion() {
 		log.info("Starting testTradeValidateAndStoreWhenOldVersion...");
 
-		ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("T1", 2, getLocalDate(2024, 05, 21)));
+		ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("T1", 2, getLocalDate(2024, 05, 21)), null);
 		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), responseEntity);
 
 		List<Trade> tradeList = tradeController.findAllTrades();
@@ -75,7 +76,7 @@ public class TradeStoreApplicationTests {
 
 		try {
 			ResponseEntity responseEntity1 = tradeController
-					.validateAndStoreTrade(createTrade("T1", 1, LocalDate.now()));
+					.validateAndStoreTrade(createTrade("T1", 1, LocalDate.now()), null);
 		} catch (InvalidTradeException e) {
 			log.error("Exception occurred during testTradeValidateAndStoreWhenOldVersion: {}", e.getMessage(), e);
 		}
@@ -93,7 +94,7 @@ public class TradeStoreApplicationTests {
 	void testTradeValidateAndStoreWhenSameVersionTrade() {
 		log.info("Starting testTradeValidateAndStoreWhenSameVersionTrade...");
 
-		ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("T1", 2, getLocalDate(2024, 05, 21)));
+		ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("T1", 2, getLocalDate(2024, 05, 21)), null);
 		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), responseEntity);
 
 		List<Trade> tradeList = tradeController.findAllTrades();
@@ -104,7 +105,7 @@ public class TradeStoreApplicationTests {
 
 		Trade trade2 = createTrade("T1", 2, getLocalDate(2024, 05, 21));
 		trade2.setBookId("T1B1V2");
-		ResponseEntity responseEntity2 = tradeController.validateAndStoreTrade(trade2);
+		ResponseEntity responseEntity2 = tradeController.validateAndStoreTrade(trade2, null);
 		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), responseEntity2);
 
 		List<Trade> tradeList2 = tradeController.findAllTrades();
@@ -115,7 +116,7 @@ public class TradeStoreApplicationTests {
 
 		Trade trade3 = createTrade("T1", 2, getLocalDate(2024, 05, 21));
 		trade3.setBookId("T1B1V3");
-		ResponseEntity responseEntity3 = tradeController.validateAndStoreTrade(trade3);
+		ResponseEntity responseEntity3 = tradeController.validateAndStoreTrade(trade3, null);
 		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), responseEntity3);
 
 		List<Trade> tradeList3 = tradeController.findAllTrades();
@@ -127,6 +128,46 @@ public class TradeStoreApplicationTests {
 		log.info("Finished testTradeValidateAndStoreWhenSameVersionTrade.");
 	}
 
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Test
+	void testTradeValidateAndStoreWhenRetried() {
+		log.info("Starting testTradeValidateAndStoreWhenRetried...");
+
+		LocalDate maturityDate = LocalDate.now().plusYears(1);
+		ResponseEntity responseEntity = tradeController.validateAndStoreTrade(createTrade("D1", 1, maturityDate), null);
+		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), responseEntity);
+
+		// A retry of the same payload is answered from the dedup cache without touching the store.
+		tradeRepository.deleteById("D1");
+		ResponseEntity retryResponse = tradeController.validateAndStoreTrade(createTrade("D1", 1, maturityDate), null);
+		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), retryResponse);
+		Assertions.assertTrue(tradeRepository.findById("D1").isEmpty());
+
+		// An amendment with the same version is a new request and is stored.
+		Trade amendment = createTrade("D1", 1, maturityDate);
+		amendment.setBookId("D1B2");
+		ResponseEntity amendmentResponse = tradeController.validateAndStoreTrade(amendment, null);
+		Assertions.assertEquals(ResponseEntity.status(HttpStatus.OK).build(), amendmentResponse);
+		Assertions.assertEquals("D1B2", tradeRepository.findById("D1").orElseThrow().getBookId());
+
+		tradeRepository.deleteById("D1");
+		log.info("Finished testTradeValidateAndStoreWhenRetried.");
+	}
+
+	@Test
+	void testWarmupLeavesNoTradesOrRuleStats() {
+		log.info("Starting testWarmupLeavesNoTradesOrRuleStats...");
+
+		// The warm-up validates and persists at least two rounds of synthetic trades before the context is ready.
+		Assertions.assertTrue(tradeRepository.findAll().stream().noneMatch(t -> t.getTradeId().startsWith("WARMUP-")));
+		tradeController.findValidationRuleStats()
+				.forEach(stats -> Assertions.assertTrue(stats.getEvaluated() < 50, stats.toString()));
+
+		log.info("Finished testWarmupLeavesNoTradesOrRuleStats.");
+	}
+
 	private Trade createTrade(String tradeId, int version, LocalDate maturityDate) {
 		Trade trade = new Trade();
 		trade.setTradeId(tradeId);
@@ -0,0 +1,97 @@
+package com.db.tradestore.controller;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.model.TradeIngestResult;
+import com.db.tradestore.service.TradeDedupCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"trade.warmup.enabled=false",
+				"spring.datasource.url=jdbc:h2:mem:reactive-controller-tests;DB_CLOSE_ON_EXIT=FALSE",
+				"spring.r2dbc.url=r2dbc:h2:mem:///reactive-controller-tests"})
+@ActiveProfiles("reactive")
+public class ReactiveTradeControllerTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private TradeDedupCache tradeDedupCache;
+
+	@Test
+	void testReactiveIngestAndQuery() {
+		LocalDate future = LocalDate.now().plusYears(1);
+
+		webTestClient.post().uri("/trade").contentType(MediaType.APPLICATION_JSON).bodyValue(createTrade("R1", 2, future))
+				.exchange().expectStatus().isOk();
+		webTestClient.post().uri("/trade").contentType(MediaType.APPLICATION_JSON).bodyValue(createTrade("R1", 1, future))
+				.exchange().expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+
+		TradeImportResult batchResult = webTestClient.post().uri("/trade/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("[" + createTrade("R2", 1, future) + "," + createTrade("R3", 1, LocalDate.now()) + ","
+						+ createTrade("R2", 2, future) + "]")
+				.exchange().expectStatus().isOk()
+				.expectBody(TradeImportResult.class).returnResult().getResponseBody();
+		Assertions.assertEquals(3, batchResult.getRowsRead());
+		Assertions.assertEquals(2, batchResult.getAccepted());
+		Assertions.assertEquals(1, batchResult.getRejected());
+
+		List<TradeIngestResult> streamResults = webTestClient.post().uri("/trade/stream")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.accept(MediaType.APPLICATION_NDJSON)
+				.bodyValue(createTrade("R4", 1, future) + "\n" + createTrade("R1", 1, future) + "\n")
+				.exchange().expectStatus().isOk()
+				.returnResult(TradeIngestResult.class).getResponseBody().collectList().block();
+		Assertions.assertEquals(2, streamResults.size());
+		Assertions.assertEquals("R4", streamResults.get(0).getTradeId());
+		Assertions.assertTrue(streamResults.get(0).isAccepted());
+		Assertions.assertFalse(streamResults.get(1).isAccepted());
+
+		Trade trade = webTestClient.get().uri("/trade/R2").exchange().expectStatus().isOk()
+				.expectBody(Trade.class).returnResult().getResponseBody();
+		Assertions.assertEquals(2, trade.getVersion());
+		Assertions.assertEquals(LocalDate.now(), trade.getCreatedDate());
+		webTestClient.get().uri("/trade/R3").exchange().expectStatus().isNotFound();
+
+		List<Trade> trades = webTestClient.get().uri("/trade").exchange().expectStatus().isOk()
+				.expectBodyList(Trade.class).returnResult().getResponseBody();
+		Assertions.assertTrue(trades.stream().anyMatch(t -> t.getTradeId().equals("R4")));
+	}
+
+	@Test
+	void testReactiveIngestWithIdempotencyKey() {
+		String trade = createTrade("R5", 1, LocalDate.now().plusYears(1));
+		long hits = tradeDedupCache.getHits();
+
+		webTestClient.post().uri("/trade").header("Idempotency-Key", "K-R5").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(trade).exchange().expectStatus().isOk();
+		webTestClient.post().uri("/trade").header("Idempotency-Key", "K-R5").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(trade).exchange().expectStatus().isOk();
+		Assertions.assertEquals(hits + 1, tradeDedupCache.getHits());
+
+		webTestClient.post().uri("/trade").header("Idempotency-Key", "K-R5").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(trade.replace("R5B1", "R5B2")).exchange().expectStatus()
+				.isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+		Trade stored = webTestClient.get().uri("/trade/R5").exchange().expectStatus().isOk()
+				.expectBody(Trade.class).returnResult().getResponseBody();
+		Assertions.assertEquals("R5B1", stored.getBookId());
+	}
+
+	private String createTrade(String tradeId, int version, LocalDate maturityDate) {
+		return "{\"tradeId\":\"" + tradeId + "\",\"version\":" + version + ",\"counterParty\":\"" + tradeId
+				+ "Cpty\",\"bookId\":\"" + tradeId + "B1\",\"maturityDate\":\"" + maturityDate
+				+ "\",\"expiredFlag\":\"N\"}";
+	}
+}
@@ -0,0 +1,397 @@
+package com.db.tradestore.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An open-loop load generator for the trade API.
+ *
+ * Requests are issued at a constant rate regardless of how quickly earlier requests
+ * complete. Each request has an intended start time on that schedule and its latency
+ * is measured from the intended start rather than from the moment it was actually
+ * sent, so a stalled server is charged for the requests it delayed and the recorded
+ * distribution is corrected for coordinated omission. The uncorrected service time is
+ * recorded alongside for comparison.
+ *
+ * The request mix covers new trades, version bumps of existing trades, late versions
+ * that must be rejected and reads of the full book. An optional expiry sweep runs
+ * concurrently at a fixed interval and is timed separately.
+ *
+ * Requests are built by the calling thread only; completed trade creations are handed
+ * back to it through a queue, so version bumps and late versions only target trades
+ * that are known to be stored.
+ */
+public class TradeLoadGenerator {
+
+	private static final Logger log = LoggerFactory.getLogger(TradeLoadGenerator.class);
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+	/**
+	 * The operations of the request mix.
+	 */
+	public enum Operation {
+		NEW_TRADE, VERSION_BUMP, LATE_VERSION, FIND_ALL, EXPIRY_SWEEP
+	}
+
+	private final URI baseUri;
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+	private final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, Histogram> corrected = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, Histogram> uncorrected = new EnumMap<>(Operation.class);
+
+	private final Histogram allCorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+	private final AtomicLong errors = new AtomicLong();
+
+	private final List<String> tradeIds = new ArrayList<>();
+
+	private final List<AtomicInteger> versions = new ArrayList<>();
+
+	private final List<Integer> stored = new ArrayList<>();
+
+	private final Queue<Integer> newlyStored = new ConcurrentLinkedQueue<>();
+
+	private Runnable expirySweep;
+
+	private long expirySweepIntervalMillis;
+
+	private String tradeIdPrefix = "L";
+
+	/**
+	 * Constructs a TradeLoadGenerator with the default request mix.
+	 *
+	 * @param baseUri The base URI of the trade API, e.g. http://localhost:8080.
+	 */
+	public TradeLoadGenerator(URI baseUri) {
+		this.baseUri = baseUri;
+		weights.put(Operation.NEW_TRADE, 50);
+		weights.put(Operation.VERSION_BUMP, 35);
+		weights.put(Operation.LATE_VERSION, 14);
+		weights.put(Operation.FIND_ALL, 1);
+		for (Operation operation : Operation.values()) {
+			corrected.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+			uncorrected.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+		}
+	}
+
+	/**
+	 * Sets the relative weight of an operation in the request mix.
+	 *
+	 * @param operation The operation.
+	 * @param weight    The relative weight; 0 disables the operation.
+	 * @return This generator.
+	 */
+	public TradeLoadGenerator weight(Operation operation, int weight) {
+		weights.put(operation, weight);
+		return this;
+	}
+
+	/**
+	 * Sets the prefix of the IDs of new trades, so several runs against the same store do not collide.
+	 *
+	 * @param prefix The trade ID prefix.
+	 * @return This generator.
+	 */
+	public TradeLoadGenerator tradeIdPrefix(String prefix) {
+		this.tradeIdPrefix = prefix;
+		return this;
+	}
+
+	/**
+	 * Runs an expiry sweep concurrently with the load.
+	 *
+	 * @param sweep          The sweep to run.
+	 * @param intervalMillis The delay between the end of a sweep and the start of the next one.
+	 * @return This generator.
+	 */
+	public TradeLoadGenerator expirySweep(Runnable sweep, long intervalMillis) {
+		this.expirySweep = sweep;
+		this.expirySweepIntervalMillis = intervalMillis;
+		return this;
+	}
+
+	/**
+	 * Drives the configured mix at a constant rate.
+	 *
+	 * @param ratePerSecond The number of requests to issue per second.
+	 * @param duration      How long to issue requests for.
+	 * @return LoadResult with the throughput and latency distributions.
+	 */
+	public LoadResult run(int ratePerSecond, Duration duration) {
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+		long requests = duration.toNanos() / intervalNanos;
+		int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+		LocalDate maturityDate = LocalDate.now().plusYears(1);
+
+		Thread sweeper = startSweeper();
+		List<CompletableFuture<?>> inFlight = new ArrayList<>();
+		long start = System.nanoTime();
+
+		for (long i = 0; i < requests; i++) {
+			long intendedStart = start + i * intervalNanos;
+			long delay;
+			while ((delay = intendedStart - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(delay);
+			}
+
+			Operation operation = pick(totalWeight);
+			int newTradeIndex = tradeIds.size();
+			HttpRequest request = createRequest(operation, maturityDate);
+			long sent = System.nanoTime();
+
+			inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						long now = System.nanoTime();
+						record(operation, now - intendedStart, now - sent);
+						if (error != null || !isExpected(operation, response.statusCode())) {
+							errors.incrementAndGet();
+						} else if (operation == Operation.NEW_TRADE) {
+							// The trade can now be the target of version bumps and late versions.
+							newlyStored.add(newTradeIndex);
+						}
+					}));
+			if (inFlight.size() >= 10_000) {
+				inFlight.removeIf(CompletableFuture::isDone);
+			}
+		}
+
+		CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+		long elapsedNanos = System.nanoTime() - start;
+		if (sweeper != null) {
+			sweeper.interrupt();
+		}
+
+		return new LoadResult(requests, requests * TimeUnit.SECONDS.toNanos(1) / elapsedNanos, errors.get(),
+				allCorrected, corrected, uncorrected);
+	}
+
+	private static boolean isExpected(Operation operation, int status) {
+		switch (operation) {
+			case LATE_VERSION:
+				return status == 406;
+			case VERSION_BUMP:
+				// Two bumps of the same trade may overtake each other, so the older one can be rejected.
+				return status == 200 || status == 406;
+			default:
+				return status == 200;
+		}
+	}
+
+	private Operation pick(int totalWeight) {
+		int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				// Version bumps and late versions need a trade whose creation has completed.
+				boolean needsTrade = entry.getKey() == Operation.VERSION_BUMP || entry.getKey() == Operation.LATE_VERSION;
+				return needsTrade && storedTradeCount() == 0 ? Operation.NEW_TRADE : entry.getKey();
+			}
+		}
+		return Operation.NEW_TRADE;
+	}
+
+	private int storedTradeCount() {
+		Integer index;
+		while ((index = newlyStored.poll()) != null) {
+			stored.add(index);
+		}
+		return stored.size();
+	}
+
+	private HttpRequest createRequest(Operation operation, LocalDate maturityDate) {
+		if (operation == Operation.FIND_ALL) {
+			return HttpRequest.newBuilder(baseUri.resolve("/trade")).GET().build();
+		}
+
+		String tradeId;
+		int version;
+		if (operation == Operation.NEW_TRADE) {
+			tradeId = tradeIdPrefix + tradeIds.size();
+			version = 1;
+			tradeIds.add(tradeId);
+			versions.add(new AtomicInteger(1));
+		} else {
+			int index = stored.get(ThreadLocalRandom.current().nextInt(storedTradeCount()));
+			tradeId = tradeIds.get(index);
+			// Stored versions start at 1, so version 0 always arrives too late.
+			version = operation == Operation.VERSION_BUMP ? versions.get(index).incrementAndGet() : 0;
+		}
+
+		String body = "{\"tradeId\":\"" + tradeId + "\",\"version\":" + version + ",\"counterParty\":\"CP-"
+				+ (tradeId.hashCode() & 63) + "\",\"bookId\":\"B" + (version & 7) + "\",\"maturityDate\":\""
+				+ maturityDate + "\",\"expiredFlag\":\"N\"}";
+		return HttpRequest.newBuilder(baseUri.resolve("/trade"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private Thread startSweeper() {
+		if (expirySweep == null) {
+			return null;
+		}
+		Thread sweeper = new Thread(() -> {
+			while (!Thread.currentThread().isInterrupted()) {
+				long start = System.nanoTime();
+				try {
+					expirySweep.run();
+				} catch (RuntimeException e) {
+					errors.incrementAndGet();
+					log.warn("Expiry sweep failed", e);
+				}
+				long elapsed = System.nanoTime() - start;
+				corrected.get(Operation.EXPIRY_SWEEP).recordValue(Math.min(elapsed / 1_000, HIGHEST_TRACKABLE_MICROS));
+				uncorrected.get(Operation.EXPIRY_SWEEP).recordValue(Math.min(elapsed / 1_000, HIGHEST_TRACKABLE_MICROS));
+				try {
+					Thread.sleep(expirySweepIntervalMillis);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}, "expiry-sweep-load");
+		sweeper.setDaemon(true);
+		sweeper.start();
+		return sweeper;
+	}
+
+	private void record(Operation operation, long correctedNanos, long uncorrectedNanos) {
+		long correctedMicros = Math.min(correctedNanos / 1_000, HIGHEST_TRACKABLE_MICROS);
+		corrected.get(operation).recordValue(correctedMicros);
+		allCorrected.recordValue(correctedMicros);
+		uncorrected.get(operation).recordValue(Math.min(uncorrectedNanos / 1_000, HIGHEST_TRACKABLE_MICROS));
+	}
+
+	/**
+	 * The outcome of a load run.
+	 */
+	public static class LoadResult {
+
+		private final long requests;
+
+		private final long throughput;
+
+		private final long errors;
+
+		private final Histogram all;
+
+		private final Map<Operation, Histogram> corrected;
+
+		private final Map<Operation, Histogram> uncorrected;
+
+		LoadResult(long requests, long throughput, long errors, Histogram all,
+				   Map<Operation, Histogram> corrected, Map<Operation, Histogram> uncorrected) {
+			this.requests = requests;
+			this.throughput = throughput;
+			this.errors = errors;
+			this.all = all;
+			this.corrected = corrected;
+			this.uncorrected = uncorrected;
+		}
+
+		/**
+		 * Gets the number of requests issued.
+		 *
+		 * @return The number of requests.
+		 */
+		public long getRequests() {
+			return requests;
+		}
+
+		/**
+		 * Gets the number of completed requests per second.
+		 *
+		 * @return The throughput.
+		 */
+		public long getThroughput() {
+			return throughput;
+		}
+
+		/**
+		 * Gets the number of failed requests and requests with an unexpected status.
+		 *
+		 * @return The number of errors.
+		 */
+		public long getErrors() {
+			return errors;
+		}
+
+		/**
+		 * Gets the number of requests issued for an operation, or the number of sweeps run.
+		 *
+		 * @param operation The operation.
+		 * @return The number of recorded latencies.
+		 */
+		public long getCount(Operation operation) {
+			return corrected.get(operation).getTotalCount();
+		}
+
+		/**
+		 * Gets a percentile of the corrected latency over all requests.
+		 *
+		 * @param percentile The percentile, e.g. 99.0.
+		 * @return The latency in milliseconds.
+		 */
+		public double getLatencyMillis(double percentile) {
+			return all.getValueAtPercentile(percentile) / 1_000.0;
+		}
+
+		/**
+		 * Logs a summary per operation and writes the corrected distributions as .hgrm files.
+		 *
+		 * @param directory The directory to write the percentile distributions to.
+		 * @throws IOException If the files cannot be written.
+		 */
+		public void report(Path directory) throws IOException {
+			Files.createDirectories(directory);
+			log.info("Load run: {} requests, {} req/s, {} errors, p50 {} ms, p99 {} ms, p99.9 {} ms, max {} ms",
+					requests, throughput, errors, getLatencyMillis(50), getLatencyMillis(99),
+					getLatencyMillis(99.9), all.getMaxValue() / 1_000.0);
+
+			for (Operation operation : Operation.values()) {
+				Histogram histogram = corrected.get(operation);
+				if (histogram.getTotalCount() == 0) {
+					continue;
+				}
+				log.info("{}: count {}, p99 {} ms (uncorrected {} ms), max {} ms", operation,
+						histogram.getTotalCount(), histogram.getValueAtPercentile(99) / 1_000.0,
+						uncorrected.get(operation).getValueAtPercentile(99) / 1_000.0,
+						histogram.getMaxValue() / 1_000.0);
+				try (PrintStream out = new PrintStream(new FileOutputStream(
+						directory.resolve(operation.name().toLowerCase() + ".hgrm").toFile()))) {
+					histogram.outputPercentileDistribution(out, 1_000.0);
+				}
+			}
+		}
+	}
+}
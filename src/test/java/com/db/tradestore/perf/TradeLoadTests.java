@@ -0,0 +1,101 @@
+package com.db.tradestore.perf;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.repository.TradeBulkRepository;
+import com.db.tradestore.service.TradeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the trade API with a realistic mix and fails when throughput or p99 latency regress.
+ *
+ * Thresholds are set by the perf profile in pom.xml and can be overridden on the command line:
+ * mvn test -Pperf -Dtest=TradeLoadTests -Dperf.rate=500 -Dperf.max-p99-ms=100
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"logging.level.com.db.tradestore=WARN", "logging.level.com.db.tradestore.perf=INFO",
+				"spring.datasource.url=jdbc:h2:mem:load-tests;DB_CLOSE_ON_EXIT=FALSE"})
+public class TradeLoadTests {
+
+	private static final int RATE = Integer.getInteger("perf.rate", 50);
+
+	private static final int DURATION_SECONDS = Integer.getInteger("perf.duration-seconds", 30);
+
+	private static final int WARMUP_SECONDS = Integer.getInteger("perf.warmup-seconds", 10);
+
+	private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("perf.max-p99-ms", "250"));
+
+	private static final double MIN_THROUGHPUT_RATIO = Double.parseDouble(
+			System.getProperty("perf.min-throughput-ratio", "0.95"));
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeBulkRepository tradeBulkRepository;
+
+	@Test
+	void testLoad_throughputAndP99WithinThresholds() throws IOException {
+		URI baseUri = URI.create("http://localhost:" + port);
+		AtomicInteger expiring = new AtomicInteger();
+		Runnable expirySweep = () -> {
+			// Each sweep finds a fresh set of trades that matured since the last one.
+			List<Trade> matured = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				matured.add(createMaturedTrade("X" + expiring.incrementAndGet()));
+			}
+			tradeBulkRepository.mergeAll(matured);
+			tradeService.updateExpiryFlagOfTrade();
+		};
+
+		// An unmeasured run of the same mix gets the request path compiled before the measured run.
+		new TradeLoadGenerator(baseUri)
+				.tradeIdPrefix("W")
+				.expirySweep(expirySweep, 1_000)
+				.run(RATE, Duration.ofSeconds(WARMUP_SECONDS));
+
+		TradeLoadGenerator.LoadResult result = new TradeLoadGenerator(baseUri)
+				.expirySweep(expirySweep, 1_000)
+				.run(RATE, Duration.ofSeconds(DURATION_SECONDS));
+
+		result.report(Paths.get("target", "perf"));
+
+		for (TradeLoadGenerator.Operation operation : TradeLoadGenerator.Operation.values()) {
+			Assertions.assertTrue(result.getCount(operation) > 0, "No " + operation + " requests in the mix");
+		}
+		Assertions.assertEquals(0, result.getErrors(), "Requests failed or returned an unexpected status");
+		Assertions.assertTrue(result.getThroughput() >= RATE * MIN_THROUGHPUT_RATIO,
+				"Throughput " + result.getThroughput() + " req/s is below " + RATE * MIN_THROUGHPUT_RATIO);
+		Assertions.assertTrue(result.getLatencyMillis(99) <= MAX_P99_MILLIS,
+				"p99 latency " + result.getLatencyMillis(99) + " ms is above " + MAX_P99_MILLIS + " ms");
+	}
+
+	private Trade createMaturedTrade(String tradeId) {
+		Trade trade = new Trade();
+		trade.setTradeId(tradeId);
+		trade.setVersion(1);
+		trade.setCounterParty("CP-X");
+		trade.setBookId("BX");
+		trade.setMaturityDate(LocalDate.now().minusDays(1));
+		trade.setCreatedDate(LocalDate.now().minusDays(30));
+		trade.setExpiredFlag("N");
+		return trade;
+	}
+}
@@ -0,0 +1,97 @@
+package com.db.tradestore.perf;
+
+import com.db.tradestore.TradestoreApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares POST /trade on the Spring MVC and WebFlux stacks at a high connection count.
+ *
+ * Run with: mvn test -Pperf -Dtest=TradeStackLoadComparisonTests
+ */
+@Tag("perf")
+public class TradeStackLoadComparisonTests {
+
+	private static final Logger log = LoggerFactory.getLogger(TradeStackLoadComparisonTests.class);
+
+	private static final int CONNECTIONS = Integer.getInteger("perf.connections", 1000);
+
+	private static final int REQUESTS = Integer.getInteger("perf.requests", 50_000);
+
+	@Test
+	void compareMvcAndReactiveStacks() {
+		long[] mvc = run("mvc", "default");
+		long[] reactive = run("reactive", "reactive");
+
+		log.info("POST /trade with {} connections: MVC {} req/s p99 {} us, WebFlux {} req/s p99 {} us",
+				CONNECTIONS, mvc[0], mvc[1], reactive[0], reactive[1]);
+	}
+
+	private long[] run(String name, String profile) {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TradestoreApplication.class)
+				.profiles(profile)
+				.properties("server.port=0", "trade.warmup.enabled=false",
+						"spring.datasource.url=jdbc:h2:mem:" + name + "-db;DB_CLOSE_ON_EXIT=FALSE",
+						"spring.r2dbc.url=r2dbc:h2:mem:///" + name + "-db",
+						"logging.level.com.db.tradestore=WARN", "logging.level.com.db.tradestore.perf=INFO")
+				.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			ConnectionProvider provider = ConnectionProvider.builder(name).maxConnections(CONNECTIONS)
+					.pendingAcquireMaxCount(-1).build();
+			WebClient client = WebClient.builder()
+					.baseUrl("http://localhost:" + port)
+					.clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+					.build();
+
+			// Warm up both the server and the client before measuring.
+			drive(client, "W", REQUESTS / 5);
+			long[] result = drive(client, "T", REQUESTS);
+			provider.dispose();
+			return result;
+		}
+	}
+
+	private long[] drive(WebClient client, String prefix, int requests) {
+		long[] latencies = new long[requests];
+		AtomicLong errors = new AtomicLong();
+		LocalDate maturityDate = LocalDate.now().plusYears(1);
+
+		long start = System.nanoTime();
+		Flux.range(0, requests)
+				.flatMap(i -> Mono.defer(() -> {
+					long sent = System.nanoTime();
+					return client.post().uri("/trade").contentType(MediaType.APPLICATION_JSON)
+							.bodyValue("{\"tradeId\":\"" + prefix + i + "\",\"version\":1,\"counterParty\":\"CP-"
+									+ (i % 100) + "\",\"bookId\":\"B1\",\"maturityDate\":\"" + maturityDate
+									+ "\",\"expiredFlag\":\"N\"}")
+							.retrieve().toBodilessEntity()
+							.doOnSuccess(response -> latencies[i] = System.nanoTime() - sent)
+							.doOnError(e -> errors.incrementAndGet())
+							.onErrorResume(e -> Mono.empty());
+				}), CONNECTIONS)
+				.blockLast();
+		long elapsedNanos = System.nanoTime() - start;
+
+		Assertions.assertEquals(0, errors.get());
+		Arrays.sort(latencies);
+		return new long[]{requests * 1_000_000_000L / elapsedNanos,
+				latencies[(int) Math.ceil(requests * 0.99) - 1] / 1_000};
+	}
+}
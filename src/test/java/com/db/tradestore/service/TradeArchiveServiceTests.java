@@ -0,0 +1,128 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.repository.TradeArchiveSegmentRepository;
+import com.db.tradestore.repository.TradeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@SpringBootTest(properties = {"trade.warmup.enabled=false", "trade.archive.segment-size=2",
+		"spring.datasource.url=jdbc:h2:mem:archive-service-tests;DB_CLOSE_ON_EXIT=FALSE"})
+public class TradeArchiveServiceTests {
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeArchiveService tradeArchiveService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private TradeArchiveSegmentRepository tradeArchiveSegmentRepository;
+
+	@Test
+	void testUpdateExpiryFlagOfTrade_movesExpiredTradesToArchive() {
+		for (int i = 1; i <= 3; i++) {
+			tradeRepository.save(trade("ARC" + i, LocalDate.now().minusDays(i)));
+		}
+		tradeRepository.save(trade("LIVE1", LocalDate.now().plusYears(1)));
+		long segments = tradeArchiveSegmentRepository.count();
+
+		tradeService.updateExpiryFlagOfTrade();
+
+		for (int i = 1; i <= 3; i++) {
+			Assertions.assertFalse(tradeRepository.existsById("ARC" + i));
+		}
+		Assertions.assertTrue(tradeRepository.existsById("LIVE1"));
+		Assertions.assertTrue(tradeArchiveSegmentRepository.count() >= segments + 2);
+
+		Optional<Trade> archived = tradeService.findTrade("ARC2");
+		Assertions.assertTrue(archived.isPresent());
+		Assertions.assertEquals("Y", archived.get().getExpiredFlag());
+		Assertions.assertEquals(LocalDate.now().minusDays(2), archived.get().getMaturityDate());
+		Assertions.assertEquals("CP-ARC2", archived.get().getCounterParty());
+
+		Assertions.assertEquals("N", tradeService.findTrade("LIVE1").get().getExpiredFlag());
+		Assertions.assertTrue(tradeService.findTrade("UNKNOWN").isEmpty());
+		Assertions.assertTrue(tradeArchiveService.countArchivedTrades() >= 3);
+	}
+
+	@Test
+	void testArchivedTrade_lowerVersionIsRejected() {
+		Trade stored = trade("ARCV1", LocalDate.now().minusDays(1));
+		stored.setVersion(5);
+		tradeRepository.save(stored);
+
+		tradeService.updateExpiryFlagOfTrade();
+		Assertions.assertFalse(tradeRepository.existsById("ARCV1"));
+
+		Trade lower = trade("ARCV1", LocalDate.now().plusYears(1));
+		lower.setVersion(1);
+		Assertions.assertFalse(tradeService.isValid(lower));
+
+		Trade same = trade("ARCV1", LocalDate.now().plusYears(1));
+		same.setVersion(5);
+		Assertions.assertTrue(tradeService.isValid(same));
+	}
+
+	@Test
+	void testArchive_keepsTradeAmendedAfterSweepRead() {
+		Trade stale = trade("ARCA1", LocalDate.now().minusDays(1));
+		tradeRepository.save(stale);
+
+		// The trade is amended between the sweep reading it and archiving it.
+		Trade amended = trade("ARCA1", LocalDate.now().plusYears(1));
+		amended.setVersion(2);
+		tradeRepository.save(amended);
+
+		Assertions.assertEquals(0, tradeArchiveService.archive(List.of(stale), LocalDate.now()));
+		Assertions.assertEquals(2, tradeRepository.findById("ARCA1").get().getVersion());
+		Assertions.assertTrue(tradeArchiveService.findArchivedTrade("ARCA1").isEmpty());
+	}
+
+	@Test
+	void testArchive_roundTripsSeparatorsAndNulls() {
+		Trade quoted = trade("tradeIdARC1", LocalDate.now().minusDays(1));
+		quoted.setCounterParty("Smith, Jones \"& Co\"\nLtd");
+		quoted.setBookId("B1,B2");
+		Trade nulls = trade("ARCN1", LocalDate.now().minusDays(1));
+		nulls.setCounterParty(null);
+		nulls.setBookId(null);
+		nulls.setCreatedDate(null);
+		nulls.setExpiredFlag(null);
+		tradeRepository.saveAll(List.of(quoted, nulls));
+
+		Assertions.assertEquals(2, tradeArchiveService.archive(List.of(quoted, nulls), LocalDate.now()));
+
+		Trade archivedQuoted = tradeArchiveService.findArchivedTrade("tradeIdARC1").orElseThrow();
+		Assertions.assertEquals("Smith, Jones \"& Co\"\nLtd", archivedQuoted.getCounterParty());
+		Assertions.assertEquals("B1,B2", archivedQuoted.getBookId());
+
+		Trade archivedNulls = tradeArchiveService.findArchivedTrade("ARCN1").orElseThrow();
+		Assertions.assertNull(archivedNulls.getCounterParty());
+		Assertions.assertNull(archivedNulls.getBookId());
+		Assertions.assertNull(archivedNulls.getCreatedDate());
+		Assertions.assertNull(archivedNulls.getExpiredFlag());
+		Assertions.assertEquals(LocalDate.now().minusDays(1), archivedNulls.getMaturityDate());
+	}
+
+	private static Trade trade(String tradeId, LocalDate maturityDate) {
+		Trade trade = new Trade();
+		trade.setTradeId(tradeId);
+		trade.setVersion(1);
+		trade.setCounterParty("CP-" + tradeId);
+		trade.setBookId("B1");
+		trade.setMaturityDate(maturityDate);
+		trade.setCreatedDate(LocalDate.now().minusYears(1));
+		trade.setExpiredFlag("N");
+		return trade;
+	}
+}
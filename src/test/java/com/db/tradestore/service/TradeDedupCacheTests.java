@@ -0,0 +1,120 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.exception.IdempotencyKeyConflictException;
+import com.db.tradestore.model.Trade;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TradeDedupCacheTests {
+
+	@Test
+	void testExecute_errorReleasesWaitingRetriesAndIsNotCached() {
+		TradeDedupCache cache = newCache();
+		Trade trade = trade("D1", "B1");
+
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> cache.execute(trade, null, () -> {
+				attempts.incrementAndGet();
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new AssertionError("store unavailable");
+			}));
+			started.await();
+
+			// A retry arriving while the first attempt is in flight waits for its result.
+			CompletableFuture<Boolean> retry = CompletableFuture.supplyAsync(() -> cache.execute(trade, null, () -> {
+				attempts.incrementAndGet();
+				return true;
+			}));
+			release.countDown();
+
+			ExecutionException firstError = Assertions.assertThrows(ExecutionException.class, first::get);
+			Assertions.assertInstanceOf(AssertionError.class, firstError.getCause());
+			try {
+				Assertions.assertTrue(retry.get());
+			} catch (ExecutionException e) {
+				Assertions.assertInstanceOf(AssertionError.class, e.getCause());
+			}
+
+			// The failure was not cached, so a later retry gets a fresh attempt.
+			Assertions.assertTrue(cache.execute(trade, null, () -> {
+				attempts.incrementAndGet();
+				return true;
+			}));
+		});
+		Assertions.assertTrue(attempts.get() >= 2);
+	}
+
+	@Test
+	void testExecute_idempotencyKeyMatchesSamePayloadAndRejectsDifferentPayload() {
+		TradeDedupCache cache = newCache();
+		AtomicInteger attempts = new AtomicInteger();
+
+		Assertions.assertTrue(cache.execute(trade("D2", "B1"), "K1", () -> attempts.incrementAndGet() > 0));
+		Assertions.assertTrue(cache.execute(trade("D2", "B1"), "K1", () -> attempts.incrementAndGet() > 0));
+		Assertions.assertEquals(1, attempts.get());
+		Assertions.assertEquals(1, cache.getHits());
+
+		// The same key with another payload is neither answered from the cache nor processed.
+		Assertions.assertThrows(IdempotencyKeyConflictException.class,
+				() -> cache.execute(trade("D2", "B2"), "K1", () -> attempts.incrementAndGet() > 0));
+		Assertions.assertEquals(1, attempts.get());
+
+		// A new key, or no key with a new payload, is a new request.
+		Assertions.assertTrue(cache.execute(trade("D2", "B2"), "K2", () -> attempts.incrementAndGet() > 0));
+		Assertions.assertTrue(cache.execute(trade("D2", "B3"), null, () -> attempts.incrementAndGet() > 0));
+		Assertions.assertEquals(3, attempts.get());
+	}
+
+	@Test
+	void testExecute_evictsBeyondMaxEntries() {
+		TradeDedupCache cache = newCache();
+		cache.maxEntries = 10;
+		AtomicInteger attempts = new AtomicInteger();
+
+		for (int i = 0; i < 100; i++) {
+			cache.execute(trade("E" + i, "B1"), null, () -> attempts.incrementAndGet() > 0);
+		}
+		Assertions.assertEquals(100, attempts.get());
+
+		// At most maxEntries requests are remembered, so at most that many retries are answered from the cache.
+		for (int i = 0; i < 100; i++) {
+			cache.execute(trade("E" + i, "B1"), null, () -> attempts.incrementAndGet() > 0);
+		}
+		Assertions.assertTrue(cache.getHits() <= 10, String.valueOf(cache.getHits()));
+	}
+
+	private static TradeDedupCache newCache() {
+		TradeDedupCache cache = new TradeDedupCache();
+		cache.enabled = true;
+		cache.maxEntries = 100;
+		cache.windowMillis = 60_000;
+		return cache;
+	}
+
+	private static Trade trade(String tradeId, String bookId) {
+		Trade trade = new Trade();
+		trade.setTradeId(tradeId);
+		trade.setVersion(1);
+		trade.setCounterParty("CP-1");
+		trade.setBookId(bookId);
+		trade.setMaturityDate(LocalDate.now().plusDays(1));
+		trade.setExpiredFlag("N");
+		return trade;
+	}
+}
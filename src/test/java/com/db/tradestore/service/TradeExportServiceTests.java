@@ -0,0 +1,161 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeExportResult;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.repository.TradeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+@SpringBootTest(properties = {"trade.warmup.enabled=false", "trade.export.page-size=2",
+		"spring.datasource.url=jdbc:h2:mem:export-service-tests;DB_CLOSE_ON_EXIT=FALSE"})
+public class TradeExportServiceTests {
+
+	@Autowired
+	private TradeExportService tradeExportService;
+
+	@Autowired
+	private TradeImportService tradeImportService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testExportToFile_resumesFromCheckpoint() throws IOException {
+		for (int i = 1; i <= 5; i++) {
+			Trade trade = new Trade();
+			trade.setTradeId("EXP" + i);
+			trade.setVersion(1);
+			trade.setCounterParty("CP-" + i);
+			trade.setBookId("B1");
+			trade.setMaturityDate(LocalDate.now().plusYears(1));
+			trade.setCreatedDate(LocalDate.now());
+			trade.setExpiredFlag("N");
+			tradeRepository.save(trade);
+		}
+		long bookSize = tradeRepository.count();
+
+		Path file = tempDir.resolve("book.csv.gz");
+		TradeExportResult full = tradeExportService.exportToFile(file, TradeExportService.Format.CSV, true);
+		List<String> lines = readGzipLines(file);
+
+		Assertions.assertFalse(full.isResumed());
+		Assertions.assertEquals(bookSize, full.getTradesWritten());
+		Assertions.assertEquals(bookSize, lines.size());
+		Assertions.assertTrue(lines.contains("EXP3,1,CP-3,B1," + LocalDate.now().plusYears(1) + "," + LocalDate.now() + ",N"));
+		Assertions.assertFalse(Files.exists(tempDir.resolve("book.csv.gz.checkpoint")));
+		Assertions.assertFalse(Files.exists(tempDir.resolve("book.csv.gz.checkpoint.tmp")));
+
+		// Simulate a run interrupted after the page ending at the second line.
+		Path resumedFile = tempDir.resolve("resumed.csv.gz");
+		Files.write(resumedFile, new byte[0]);
+		Files.writeString(tempDir.resolve("resumed.csv.gz.checkpoint"), "0\tCSV\ttrue\t" + lines.get(1).split(",")[0]);
+
+		TradeExportResult resumed = tradeExportService.exportToFile(resumedFile, TradeExportService.Format.CSV, true);
+
+		Assertions.assertTrue(resumed.isResumed());
+		Assertions.assertEquals(bookSize - 2, resumed.getTradesWritten());
+		Assertions.assertEquals(lines.subList(2, lines.size()), readGzipLines(resumedFile));
+	}
+
+	@Test
+	void testExportToFile_refusesOverwriteAndMismatchedResume() throws IOException {
+		Path existing = tempDir.resolve("existing.csv");
+		Files.writeString(existing, "keep");
+
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> tradeExportService.exportToFile(existing, TradeExportService.Format.CSV, false));
+		Assertions.assertEquals("keep", Files.readString(existing));
+
+		Path interrupted = tempDir.resolve("interrupted.csv.gz");
+		Files.write(interrupted, new byte[0]);
+		Files.writeString(tempDir.resolve("interrupted.csv.gz.checkpoint"), "0\tCSV\ttrue\t");
+
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> tradeExportService.exportToFile(interrupted, TradeExportService.Format.NDJSON, true));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> tradeExportService.exportToFile(interrupted, TradeExportService.Format.CSV, false));
+	}
+
+	@Test
+	void testExportToFile_csvRoundTripsThroughImport() throws IOException {
+		Trade quoted = new Trade();
+		quoted.setTradeId("tradeIdCSV1");
+		quoted.setVersion(1);
+		quoted.setCounterParty("Smith, Jones \"& Co\"\r\nLtd");
+		quoted.setBookId(" B1 ");
+		quoted.setMaturityDate(LocalDate.now().plusYears(1));
+		quoted.setExpiredFlag("");
+		Trade nulls = new Trade();
+		nulls.setTradeId("CSV2");
+		nulls.setVersion(1);
+		nulls.setMaturityDate(LocalDate.now().plusYears(1));
+		tradeRepository.saveAll(List.of(quoted, nulls));
+		long bookSize = tradeRepository.count();
+
+		Path file = tempDir.resolve("book.csv");
+		tradeExportService.exportToFile(file, TradeExportService.Format.CSV, false);
+		tradeRepository.deleteAllById(List.of("tradeIdCSV1", "CSV2"));
+
+		// Small chunks put chunk boundaries next to the line break inside the quoted counterparty.
+		long chunkSize = tradeImportService.chunkSize;
+		tradeImportService.chunkSize = 16;
+		try {
+			TradeImportResult result = tradeImportService.importFile(file, false);
+			Assertions.assertEquals(bookSize, result.getRowsRead());
+			Assertions.assertEquals(0, result.getMalformed());
+
+			Trade importedQuoted = tradeRepository.findById("tradeIdCSV1").orElseThrow();
+			Assertions.assertEquals("Smith, Jones \"& Co\"\r\nLtd", importedQuoted.getCounterParty());
+			Assertions.assertEquals(" B1 ", importedQuoted.getBookId());
+			Assertions.assertEquals("", importedQuoted.getExpiredFlag());
+
+			Trade importedNulls = tradeRepository.findById("CSV2").orElseThrow();
+			Assertions.assertNull(importedNulls.getCounterParty());
+			Assertions.assertNull(importedNulls.getBookId());
+			Assertions.assertNull(importedNulls.getExpiredFlag());
+		} finally {
+			tradeImportService.chunkSize = chunkSize;
+			tradeRepository.deleteAllById(List.of("tradeIdCSV1", "CSV2"));
+		}
+	}
+
+	@Test
+	void testResolveExportFile_rejectsPathsOutsideExportDirectory() throws IOException {
+		String exportDir = tradeExportService.exportDir;
+		tradeExportService.exportDir = tempDir.toString();
+		try {
+			Files.createDirectories(tempDir.resolve("daily"));
+
+			Assertions.assertEquals(tempDir.toRealPath().resolve("daily/book.csv"),
+					tradeExportService.resolveExportFile("daily/book.csv"));
+			Assertions.assertThrows(IllegalArgumentException.class,
+					() -> tradeExportService.resolveExportFile("../book.csv"));
+			Assertions.assertThrows(IllegalArgumentException.class,
+					() -> tradeExportService.resolveExportFile("/etc/passwd"));
+		} finally {
+			tradeExportService.exportDir = exportDir;
+		}
+	}
+
+	private static List<String> readGzipLines(Path file) throws IOException {
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.db.tradestore.service;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeImportResult;
+import com.db.tradestore.repository.TradeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+@SpringBootTest(properties = {"trade.warmup.enabled=false",
+		"spring.datasource.url=jdbc:h2:mem:import-service-tests;DB_CLOSE_ON_EXIT=FALSE"})
+public class TradeImportServiceTests {
+
+	@Autowired
+	private TradeImportService tradeImportService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testImportFile_validatesAndStoresTrades() throws IOException {
+		LocalDate future = LocalDate.now().plusYears(1);
+		LocalDate past = LocalDate.now().minusDays(1);
+
+		Path file = tempDir.resolve("trades.csv");
+		Files.writeString(file, String.join("\n",
+				"tradeId,version,counterParty,bookId,maturityDate,createdDate,expiredFlag",
+				"IMP1,2,CP-1,B1," + future + ",,N",
+				"IMP1,1,CP-1,B1," + future + ",,N",
+				"IMP2,1,CP-2,B2," + past + ",,N",
+				"IMP3,1,CP-3,B1," + future + ",,N",
+				"IMP4,x,CP-4,B1," + future + ",,N",
+				""));
+
+		TradeImportResult result = tradeImportService.importFile(file, true);
+
+		Assertions.assertEquals(4, result.getRowsRead());
+		Assertions.assertEquals(2, result.getAccepted());
+		Assertions.assertEquals(2, result.getRejected());
+		Assertions.assertEquals(1, result.getMalformed());
+
+		Trade trade = tradeRepository.findById("IMP1").orElseThrow();
+		Assertions.assertEquals(2, trade.getVersion());
+		Assertions.assertEquals("CP-1", trade.getCounterParty());
+		Assertions.assertEquals(future, trade.getMaturityDate());
+		Assertions.assertEquals(LocalDate.now(), trade.getCreatedDate());
+		Assertions.assertTrue(tradeRepository.findById("IMP2").isEmpty());
+		Assertions.assertTrue(tradeRepository.findById("IMP3").isPresent());
+
+		Files.writeString(file, "IMP1,1,CP-1,B1," + future + ",,N\nIMP3,1,CP-3,B9," + future + ",,N\n");
+		TradeImportResult rerun = tradeImportService.importFile(file, true);
+
+		Assertions.assertEquals(1, rerun.getAccepted());
+		Assertions.assertEquals(1, rerun.getRejected());
+		Assertions.assertEquals(2, tradeRepository.findById("IMP1").orElseThrow().getVersion());
+		Assertions.assertEquals("B9", tradeRepository.findById("IMP3").orElseThrow().getBookId());
+	}
+
+	@Test
+	void testImportFile_decodesUtf8() throws IOException {
+		LocalDate future = LocalDate.now().plusYears(1);
+
+		Path file = tempDir.resolve("trades-utf8.csv");
+		Files.writeString(file, String.join("\n",
+				"IMPU1,1,Société Générale,Bücher," + future + ",,N",
+				"IMPU2,1,Société Générale,Bücher," + future + ",,N",
+				"IMPU3,1,Societe Generale,Bucher," + future + ",,N",
+				""), StandardCharsets.UTF_8);
+
+		TradeImportResult result = tradeImportService.importFile(file, true);
+
+		Assertions.assertEquals(3, result.getAccepted());
+		Assertions.assertEquals("Société Générale", tradeRepository.findById("IMPU1").orElseThrow().getCounterParty());
+		Assertions.assertEquals("Bücher", tradeRepository.findById("IMPU2").orElseThrow().getBookId());
+		Assertions.assertEquals("Societe Generale", tradeRepository.findById("IMPU3").orElseThrow().getCounterParty());
+	}
+
+	@Test
+	void testResolveImportFile_rejectsPathsOutsideImportDirectory() throws IOException {
+		String importDir = tradeImportService.importDir;
+		tradeImportService.importDir = tempDir.toString();
+		try {
+			Files.writeString(tempDir.resolve("eod.csv"), "");
+
+			Assertions.assertEquals(tempDir.toRealPath().resolve("eod.csv"), tradeImportService.resolveImportFile("eod.csv"));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> tradeImportService.resolveImportFile("missing.csv"));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> tradeImportService.resolveImportFile("../eod.csv"));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> tradeImportService.resolveImportFile("/etc/hosts"));
+		} finally {
+			tradeImportService.importDir = importDir;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.db.tradestore.validation;
+
+import com.db.tradestore.model.Trade;
+import com.db.tradestore.model.TradeValidationRuleStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TradeValidationEngineTests {
+
+	@Test
+	void testValidate_shortCircuitsAndReordersByRejectRate() {
+		BookWhitelistRule bookWhitelistRule = new BookWhitelistRule();
+		bookWhitelistRule.bookWhitelist = Set.of("B1");
+
+		TradeValidationEngine engine = new TradeValidationEngine();
+		engine.availableRules = List.of(new MaturityDateRule(), bookWhitelistRule);
+		engine.ruleNames = List.of("maturityDate", "bookWhitelist");
+		engine.compile();
+
+		TradeValidationContext context = new TradeValidationContext(LocalDate.now());
+		Assertions.assertTrue(engine.validate(createTrade("T1", "B1", LocalDate.now().plusDays(1)), context));
+		Assertions.assertFalse(engine.validate(createTrade("T2", "B2", LocalDate.now().plusDays(1)), context));
+		Assertions.assertFalse(engine.validate(createTrade("T3", "B3", LocalDate.now().plusDays(1)), context));
+		Assertions.assertFalse(engine.validate(createTrade("T4", "B1", LocalDate.now()), context));
+
+		List<TradeValidationRuleStats> stats = engine.getRuleStats();
+		Assertions.assertEquals(4, stats.get(0).getEvaluated());
+		Assertions.assertEquals(1, stats.get(0).getRejected());
+		Assertions.assertEquals(3, stats.get(1).getEvaluated());
+		Assertions.assertEquals(2, stats.get(1).getRejected());
+
+		engine.reorder();
+
+		Assertions.assertEquals(List.of("bookWhitelist", "maturityDate"),
+				engine.getRuleStats().stream().map(TradeValidationRuleStats::getName).collect(Collectors.toList()));
+	}
+
+	@Test
+	void testCompile_unknownRule() {
+		TradeValidationEngine engine = new TradeValidationEngine();
+		engine.availableRules = List.of(new MaturityDateRule());
+		engine.ruleNames = List.of("maturityDate", "missing");
+
+		Assertions.assertThrows(IllegalStateException.class, engine::compile);
+	}
+
+	private Trade createTrade(String tradeId, String bookId, LocalDate maturityDate) {
+		Trade trade = new Trade();
+		trade.setTradeId(tradeId);
+		trade.setBookId(bookId);
+		trade.setVersion(1);
+		trade.setCounterParty(tradeId + "Cpty");
+		trade.setMaturityDate(maturityDate);
+		return trade;
+	}
+}